@@ -62,6 +62,8 @@ CREATE TABLE jobs (
     requirements TEXT,
     responsibilities TEXT,
     location VARCHAR(255),
+    latitude DOUBLE,
+    longitude DOUBLE,
     job_type ENUM('FULL_TIME', 'PART_TIME', 'CONTRACT', 'INTERNSHIP') NOT NULL,
     work_mode ENUM('ONSITE', 'REMOTE', 'HYBRID'),
     experience_level ENUM('ENTRY', 'JUNIOR', 'MID', 'SENIOR', 'LEAD') NOT NULL,
@@ -81,9 +83,44 @@ CREATE TABLE jobs (
     INDEX idx_location (location),
     INDEX idx_job_type (job_type),
     INDEX idx_posted_date (posted_date),
+    -- keyset pagination on (posted_date, id), InnoDB secondary indexes already end with the primary key
+    INDEX idx_status_posted (status, posted_date),
+    INDEX idx_recruiter_posted (recruiter_id, posted_date),
+    -- expiry sweeps range scan the active jobs by expiry_date
+    INDEX idx_status_expiry (status, expiry_date),
+    -- archiving range scans the closed and expired jobs by their last change
+    INDEX idx_status_updated (status, updated_at),
+    -- radius searches range scan the bounding box latitudes
+    INDEX idx_jobs_geo (latitude, longitude),
     FULLTEXT INDEX idx_search (title, description, requirements)
 );
 
+-- normalized skill dictionary, the JSON skills columns stay as the display copy
+CREATE TABLE skills (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    normalized_name VARCHAR(255) NOT NULL,
+    UNIQUE KEY unique_normalized_name (normalized_name)
+);
+
+CREATE TABLE job_skills (
+    job_id BIGINT NOT NULL,
+    skill_id BIGINT NOT NULL,
+    PRIMARY KEY (job_id, skill_id),
+    FOREIGN KEY (job_id) REFERENCES jobs(id) ON DELETE CASCADE,
+    FOREIGN KEY (skill_id) REFERENCES skills(id),
+    INDEX idx_skill_job (skill_id, job_id) -- jobs requiring skill X
+);
+
+CREATE TABLE candidate_skills (
+    candidate_id BIGINT NOT NULL,
+    skill_id BIGINT NOT NULL,
+    PRIMARY KEY (candidate_id, skill_id),
+    FOREIGN KEY (candidate_id) REFERENCES candidate_profiles(id) ON DELETE CASCADE,
+    FOREIGN KEY (skill_id) REFERENCES skills(id),
+    INDEX idx_skill_candidate (skill_id, candidate_id)
+);
+
 CREATE TABLE applications (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
     job_id BIGINT NOT NULL,
@@ -98,7 +135,10 @@ CREATE TABLE applications (
     UNIQUE KEY unique_application (job_id, candidate_id), -- Prevents duplicate applications
     INDEX idx_status (status),
     INDEX idx_candidate (candidate_id),
-    INDEX idx_job (job_id)
+    INDEX idx_job (job_id),
+    -- keyset pagination on (applied_date, id)
+    INDEX idx_candidate_applied (candidate_id, applied_date),
+    INDEX idx_job_applied (job_id, applied_date)
 );
 
 CREATE TABLE notifications (
@@ -124,4 +164,61 @@ CREATE TABLE saved_jobs (
     FOREIGN KEY (job_id) REFERENCES jobs(id) ON DELETE CASCADE,
     UNIQUE KEY unique_saved_job (candidate_id, job_id),
     INDEX idx_candidate (candidate_id)
-);
\ No newline at end of file
+);
+
+-- closed and expired jobs untouched for jobs.archive.after, moved with their applications by JobArchiver.
+-- Rows keep their original ids, so the operational tables only hold the hot rows
+CREATE TABLE jobs_archive (
+    id BIGINT PRIMARY KEY,
+    recruiter_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description TEXT NOT NULL,
+    requirements TEXT,
+    responsibilities TEXT,
+    location VARCHAR(255),
+    latitude DOUBLE,
+    longitude DOUBLE,
+    job_type ENUM('FULL_TIME', 'PART_TIME', 'CONTRACT', 'INTERNSHIP') NOT NULL,
+    work_mode ENUM('ONSITE', 'REMOTE', 'HYBRID'),
+    experience_level ENUM('ENTRY', 'JUNIOR', 'MID', 'SENIOR', 'LEAD') NOT NULL,
+    salary_min DECIMAL(10,2),
+    salary_max DECIMAL(10,2),
+    currency VARCHAR(10),
+    required_skills JSON,
+    status ENUM('ACTIVE', 'CLOSED', 'EXPIRED'),
+    posted_date TIMESTAMP NULL,
+    expiry_date TIMESTAMP NULL,
+    view_count INT,
+    application_count INT,
+    created_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (recruiter_id) REFERENCES recruiter_profiles(id) ON DELETE CASCADE,
+    INDEX idx_recruiter_posted (recruiter_id, posted_date)
+);
+
+CREATE TABLE applications_archive (
+    id BIGINT PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    candidate_id BIGINT NOT NULL,
+    status ENUM('APPLIED', 'UNDER_REVIEW', 'SHORTLISTED', 'INTERVIEW', 'REJECTED', 'OFFERED'),
+    cover_letter TEXT,
+    recruiter_notes TEXT,
+    applied_date TIMESTAMP NULL,
+    last_updated TIMESTAMP NULL,
+    FOREIGN KEY (job_id) REFERENCES jobs_archive(id) ON DELETE CASCADE,
+    FOREIGN KEY (candidate_id) REFERENCES candidate_profiles(id) ON DELETE CASCADE,
+    INDEX idx_candidate_applied (candidate_id, applied_date),
+    INDEX idx_job_applied (job_id, applied_date)
+);
+
+-- ids (jti) of tokens revoked before their exp, mirrored in memory by TokenRevocationList.
+-- Rows are purged once the token would have expired anyway
+CREATE TABLE revoked_tokens (
+    jti VARCHAR(36) PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL,
+    INDEX idx_revoked_at (revoked_at),
+    INDEX idx_expires_at (expires_at)
+);
@@ -0,0 +1,24 @@
+package api.techhatch.com.cache;
+
+/**
+ * Serialized JobResponse with its strong ETag, as kept by {@link JobDetailCache}
+ * @param body JSON body of the response
+ * @param etag quoted strong entity tag of body
+ */
+public record CachedJobDetail(byte[] body, String etag) {
+
+    /**
+     * @param ifNoneMatch If-None-Match request header, may list several tags or be *
+     * @return true when the client already holds this representation and gets a 304
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            //If-None-Match uses the weak comparison, a W/ prefix added by a proxy still matches
+            if (candidate.startsWith("W/")) candidate = candidate.substring(2);
+            if (candidate.equals("*") || candidate.equals(etag)) return true;
+        }
+        return false;
+    }
+}
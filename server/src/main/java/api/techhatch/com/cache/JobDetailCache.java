@@ -0,0 +1,121 @@
+package api.techhatch.com.cache;
+
+import api.techhatch.com.dto.response.JobResponse;
+import api.techhatch.com.search.JobChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of serialized job detail responses, keyed by job id.
+ * Every entry carries the JSON body and a strong ETag derived from the job version (updated_at) and the body bytes.
+ * Entries are dropped once a change of the job commits, view and application counts are refreshed by expire-after.
+ * Hit, miss and eviction counts are published as the cache.* meters of "jobDetail".
+ */
+@Component
+public class JobDetailCache {
+
+    private static final String CACHE_NAME = "jobDetail";
+    private static final int VERSION_STRIPES = 4096;
+
+    private final Cache<Long, CachedJobDetail> cache;
+    private final ObjectMapper objectMapper;
+    //per job stripe, bumped when a job is invalidated so loads of that job that started earlier do not put a
+    //stale detail back. Loads of other jobs keep caching, only a colliding stripe skips one put
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public JobDetailCache(ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${jobs.detail-cache.maximum-size:20000}") long maximumSize,
+                          @Value("${jobs.detail-cache.expire-after:1m}") Duration expireAfter) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * @param jobId job to look up
+     * @param loader loads and serializes the job on a miss, see {@link #serialize}
+     * @return cached or freshly loaded detail
+     */
+    public CachedJobDetail get(Long jobId, Function<Long, CachedJobDetail> loader) {
+        CachedJobDetail cached = cache.getIfPresent(jobId);
+        if (cached != null) return cached;
+
+        int stripe = stripeOf(jobId);
+        long loadVersion = versions.get(stripe);
+        CachedJobDetail loaded = loader.apply(jobId);
+        //checked under the entry lock, an invalidation bumps the version before it removes the entry
+        cache.asMap().compute(jobId, (id, existing) -> versions.get(stripe) == loadVersion ? loaded : existing);
+        return loaded;
+    }
+
+    /**
+     * @param response detail response of the job
+     * @param version updated_at of the job
+     */
+    public CachedJobDetail serialize(JobResponse response, LocalDateTime version) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(response);
+            return new CachedJobDetail(body, etagOf(response.getId(), version, body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize job " + response.getId(), e);
+        }
+    }
+
+    //updateJob, closeJob, deleteJob, expiry and geocoding all publish a JobChangedEvent
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        for (Long jobId : event.jobIds()) {
+            versions.incrementAndGet(stripeOf(jobId));
+            cache.invalidate(jobId);
+        }
+    }
+
+    public void invalidateAll() {
+        for (int stripe = 0; stripe < VERSION_STRIPES; stripe++) {
+            versions.incrementAndGet(stripe);
+        }
+        cache.invalidateAll();
+    }
+
+    //HELPER METHODS
+
+    private static int stripeOf(Long jobId) {
+        return Long.hashCode(jobId) & (VERSION_STRIPES - 1);
+    }
+
+    //the version alone would miss count changes that keep updated_at, the digest covers them
+    private static String etagOf(Long jobId, LocalDateTime version, byte[] body) {
+        long versionMillis = version != null ? version.toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+        return "\"" + jobId + "-" + Long.toHexString(versionMillis) + "-" + digest(body) + "\"";
+    }
+
+    private static String digest(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package api.techhatch.com.cache;
+
+import api.techhatch.com.model.CandidateProfile;
+import api.techhatch.com.model.RecruiterProfile;
+import api.techhatch.com.recommendation.CandidateProfileChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalidation hooks of the profile services, run once the profile change commits.
+ * READ_WRITE regions already take the new state of entities saved through Hibernate, the eviction also drops
+ * entries that bulk or native statements touched. A recruiter change also drops the cached job search pages and
+ * job details, which embed the company name and logo.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProfileCacheInvalidator {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final SearchResultCache searchResultCache;
+    private final JobDetailCache jobDetailCache;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecruiterProfileChanged(RecruiterProfileChangedEvent event) {
+        entityManagerFactory.getCache().evict(RecruiterProfile.class, event.recruiterId());
+        searchResultCache.invalidateAll();
+        jobDetailCache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCandidateProfileChanged(CandidateProfileChangedEvent event) {
+        entityManagerFactory.getCache().evict(CandidateProfile.class, event.candidate().candidateId());
+    }
+}
@@ -0,0 +1,8 @@
+package api.techhatch.com.cache;
+
+/**
+ * Published by {@link api.techhatch.com.service.RecruiterProfileService} when a recruiter profile is created or
+ * updated. Job cards and details embed the company, so cached responses of the recruiter's jobs go stale.
+ */
+public record RecruiterProfileChangedEvent(Long recruiterId) {
+}
@@ -0,0 +1,45 @@
+package api.techhatch.com.cache;
+
+import api.techhatch.com.geo.GeoCircle;
+import api.techhatch.com.model.Job;
+import api.techhatch.com.model.Skill;
+import api.techhatch.com.search.SearchMode;
+import api.techhatch.com.search.SearchSort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Normalized job search request, "Java  Developer" and "java developer" share one cache entry
+ */
+public record SearchKey(
+        String keyword,
+        String location,
+        Job.JobType jobType,
+        Job.ExperienceLevel experienceLevel,
+        BigDecimal minSalary,
+        BigDecimal maxSalary,
+        LocalDateTime fromDate,
+        LocalDateTime toDate,
+        String skill,
+        GeoCircle near,
+        int page,
+        SearchMode mode,
+        SearchSort sort
+) {
+
+    public SearchKey {
+        keyword = normalize(keyword);
+        location = normalize(location);
+        skill = Skill.normalize(skill);
+        minSalary = minSalary != null ? minSalary.stripTrailingZeros() : null;
+        maxSalary = maxSalary != null ? maxSalary.stripTrailingZeros() : null;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) return null;
+        String normalized = text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+}
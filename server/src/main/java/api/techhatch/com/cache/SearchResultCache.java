@@ -0,0 +1,155 @@
+package api.techhatch.com.cache;
+
+import api.techhatch.com.dto.response.JobSummaryResponse;
+import api.techhatch.com.search.JobChangedEvent;
+import api.techhatch.com.search.SearchIndexUpdatedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of public job search pages with stale-while-revalidate.
+ * Entries older than refresh-after are still served while one background reload per key refreshes them,
+ * entries older than expire-after (or beyond maximum-size) are evicted. Any job change invalidates the whole cache,
+ * once when it commits (pages read from SQL) and again once the index and snapshot have applied it (pages read from
+ * memory, which trail the commit).
+ * Hit, miss and eviction counts are published as the cache.* meters of "jobSearch".
+ */
+@Component
+@Slf4j
+public class SearchResultCache {
+
+    private static final String CACHE_NAME = "jobSearch";
+
+    private final Cache<SearchKey, Entry> cache;
+    private final Duration refreshAfter;
+    private final ExecutorService refreshExecutor;
+    private final Set<SearchKey> refreshing = ConcurrentHashMap.newKeySet();
+    //bumped on every invalidation, entries remember the generation their load started in and are only served
+    //while it is still current
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter staleServed;
+    private final Counter refreshFailures;
+
+    public SearchResultCache(MeterRegistry meterRegistry,
+                             @Value("${search.cache.maximum-size:10000}") long maximumSize,
+                             @Value("${search.cache.refresh-after:30s}") Duration refreshAfter,
+                             @Value("${search.cache.expire-after:5m}") Duration expireAfter) {
+        this.refreshAfter = refreshAfter;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .build();
+        this.refreshExecutor = new ThreadPoolExecutor(1, 2, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(256),
+                Thread.ofPlatform().name("search-cache-refresh-", 0).daemon().factory());
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.staleServed = Counter.builder("cache.stale.served")
+                .tag("cache", CACHE_NAME)
+                .description("Stale entries served while a refresh was pending")
+                .register(meterRegistry);
+        this.refreshFailures = Counter.builder("cache.refresh.failures")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param key normalized search
+     * @param loader runs the search, called in the caller thread on a miss and in the background on refresh
+     * @return cached, possibly stale, page or the freshly loaded one
+     */
+    public Page<JobSummaryResponse> get(SearchKey key, Function<SearchKey, Page<JobSummaryResponse>> loader) {
+        Entry entry = cache.getIfPresent(key);
+        //an entry written by a load that raced with an invalidation is as good as absent
+        if (entry != null && entry.generation() != generation.get()) {
+            cache.asMap().remove(key, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            long loadGeneration = generation.get();
+            Page<JobSummaryResponse> page = loader.apply(key);
+            putIfCurrent(key, page, loadGeneration);
+            return page;
+        }
+
+        if (entry.isStale(refreshAfter)) {
+            staleServed.increment();
+            scheduleRefresh(key, loader);
+        }
+        return entry.page();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        invalidateAll();
+    }
+
+    //a search between the commit and the sink update reads the old state, its page is cached under the new
+    //generation and only dropped here
+    @EventListener
+    public void onSearchIndexUpdated(SearchIndexUpdatedEvent event) {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private void scheduleRefresh(SearchKey key, Function<SearchKey, Page<JobSummaryResponse>> loader) {
+        if (!refreshing.add(key)) return;
+        long loadGeneration = generation.get();
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    putIfCurrent(key, loader.apply(key), loadGeneration);
+                } catch (RuntimeException e) {
+                    refreshFailures.increment();
+                    log.warn("Background refresh of job search {} failed", key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            //queue full, keep serving the stale entry and let a later hit retry
+            refreshing.remove(key);
+        }
+    }
+
+    private void putIfCurrent(SearchKey key, Page<JobSummaryResponse> page, long loadGeneration) {
+        if (generation.get() != loadGeneration) return;
+        Entry loaded = new Entry(page, System.nanoTime(), loadGeneration);
+        //never replace an entry loaded after a newer invalidation with this older page
+        cache.asMap().compute(key, (k, existing) ->
+                existing != null && existing.generation() > loadGeneration ? existing : loaded);
+    }
+
+    private record Entry(Page<JobSummaryResponse> page, long loadedAtNanos, long generation) {
+
+        boolean isStale(Duration refreshAfter) {
+            return System.nanoTime() - loadedAtNanos > refreshAfter.toNanos();
+        }
+    }
+}
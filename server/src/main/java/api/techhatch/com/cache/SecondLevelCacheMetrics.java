@@ -0,0 +1,56 @@
+package api.techhatch.com.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the Hibernate second-level cache regions as cache.gets (result hit/miss), cache.puts and
+ * cache.hit.ratio meters, tagged like the Caffeine caches of the application. Needs hibernate.generate_statistics.
+ */
+@Component
+public class SecondLevelCacheMetrics {
+
+    static final List<String> REGIONS = List.of(
+            "users", "users-natural-id",
+            "recruiter-profiles", "recruiter-profiles-natural-id",
+            "candidate-profiles", "candidate-profiles-natural-id");
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : REGIONS) {
+            register(meterRegistry, statistics, region);
+        }
+    }
+
+    private static void register(MeterRegistry meterRegistry, Statistics statistics, String region) {
+        counter(meterRegistry, statistics, region, "cache.gets", "hit", CacheRegionStatistics::getHitCount);
+        counter(meterRegistry, statistics, region, "cache.gets", "miss", CacheRegionStatistics::getMissCount);
+        counter(meterRegistry, statistics, region, "cache.puts", null, CacheRegionStatistics::getPutCount);
+        Gauge.builder("cache.hit.ratio", statistics, stats -> {
+                    CacheRegionStatistics regionStats = stats.getDomainDataRegionStatistics(region);
+                    long requests = regionStats.getHitCount() + regionStats.getMissCount();
+                    return requests == 0 ? Double.NaN : (double) regionStats.getHitCount() / requests;
+                })
+                .tag("cache", region)
+                .description("Share of second-level cache lookups served from the region")
+                .register(meterRegistry);
+    }
+
+    private static void counter(MeterRegistry meterRegistry, Statistics statistics, String region, String name,
+                                String result, ToDoubleFunction<CacheRegionStatistics> count) {
+        FunctionCounter.Builder<Statistics> builder = FunctionCounter
+                .builder(name, statistics, stats -> count.applyAsDouble(stats.getDomainDataRegionStatistics(region)))
+                .tag("cache", region);
+        if (result != null) builder.tag("result", result);
+        builder.register(meterRegistry);
+    }
+}
@@ -0,0 +1,61 @@
+package api.techhatch.com.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key.
+ * The first caller runs the loader, callers arriving while it is in flight wait for and share its result (or exception).
+ * Nothing is kept once the load finishes, the next caller loads again.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            onJoin(key);
+            return await(existing);
+        }
+
+        try {
+            V value = loader.get();
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    /**
+     * @return number of keys currently being loaded
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Called when a caller joins a load that is already in flight, before it starts waiting
+     */
+    protected void onJoin(K key) {
+    }
+
+    //rethrow the leader's exception as is, so a ResourceNotFoundException still maps to 404 for every waiter
+    private V await(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+}
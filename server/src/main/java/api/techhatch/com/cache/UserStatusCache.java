@@ -0,0 +1,55 @@
+package api.techhatch.com.cache;
+
+import api.techhatch.com.model.Users;
+import api.techhatch.com.repository.UserRepo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Account status by user id, for requests authenticated from the claims of their JWT.
+ * Entries are dropped once a change of the user commits and expire after auth.user-status.ttl otherwise, which
+ * bounds how long a status changed outside of Hibernate (e.g. by hand in MySQL) goes unnoticed.
+ * Hit, miss and eviction counts are published as the cache.* meters of "userStatus".
+ */
+@Component
+public class UserStatusCache {
+
+    private static final String CACHE_NAME = "userStatus";
+
+    private final Cache<Long, Users.AccountStatus> cache;
+    private final UserRepo userRepo;
+
+    public UserStatusCache(UserRepo userRepo,
+                           MeterRegistry meterRegistry,
+                           @Value("${auth.user-status.maximum-size:100000}") long maximumSize,
+                           @Value("${auth.user-status.ttl:30s}") Duration ttl) {
+        this.userRepo = userRepo;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * @return account status of the user, null when the user no longer exists
+     */
+    public Users.AccountStatus get(long userId) {
+        //missing users are not cached, a null from the loader leaves no entry
+        return cache.get(userId, id -> userRepo.findAccountStatusById(id).orElse(null));
+    }
+
+    //invalidating a key that is being loaded waits for the load, so a stale status is not put back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        cache.invalidate(event.userId());
+    }
+}
@@ -0,0 +1,8 @@
+package api.techhatch.com.cache;
+
+/**
+ * Published by {@link UserStatusListener} when a user row is updated or deleted, so the cached account status of
+ * that user is dropped once the change commits
+ */
+public record UserStatusChangedEvent(long userId) {
+}
@@ -0,0 +1,23 @@
+package api.techhatch.com.cache;
+
+import api.techhatch.com.model.Users;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Entity listener of {@link Users}, Hibernate creates it through the Spring bean container.
+ * Any update may be a status change (suspension, verification), the event is cheap so it is not filtered here.
+ */
+@RequiredArgsConstructor
+public class UserStatusListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(Users user) {
+        eventPublisher.publishEvent(new UserStatusChangedEvent(user.getId()));
+    }
+}
@@ -0,0 +1,115 @@
+package api.techhatch.com.config;
+
+import api.techhatch.com.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt on a dedicated pool of one thread per core with a bounded queue, so a burst of logins or registrations
+ * cannot take every Tomcat worker's CPU. The calling thread waits for its hash, a full queue fails fast with a
+ * {@link TooManyRequestsException} (429) instead of queueing without bound.
+ * Hashing time per operation is published as auth.password.hashing, the backlog as auth.password.queue.depth and
+ * rejections as auth.password.rejected. Hashes of another cost than the configured strength are reported by
+ * {@link #upgradeEncoding(String)}, the authentication provider then stores a new hash on the next login.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    /**
+     * @param strength BCrypt cost factor, each step doubles the hashing time
+     * @param threads size of the pool
+     * @param queueCapacity hashes that may wait for a thread, the worst wait is about queueCapacity / threads hashes
+     */
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.encodeTimer = Timer.builder("auth.password.hashing")
+                .description("Time of one BCrypt operation on the hashing pool")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hashing")
+                .description("Time of one BCrypt operation on the hashing pool")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected")
+                .description("Hashing requests rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Hashing requests waiting for a thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    //BCryptPasswordEncoder only upgrades to a higher cost, a lowered strength is applied the same way
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) return false;
+        Matcher cost = BCRYPT_COST.matcher(encodedPassword);
+        return cost.find() && Integer.parseInt(cost.group(1)) != strength;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    //HELPER METHODS
+
+    private <T> T submit(Timer timer, Supplier<T> hashing) {
+        Future<T> result;
+        try {
+            result = executor.submit(() -> timer.record(hashing));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many requests right now, please retry in a moment");
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
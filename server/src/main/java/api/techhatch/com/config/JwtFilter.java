@@ -1,12 +1,18 @@
 package api.techhatch.com.config;
 
+import api.techhatch.com.cache.UserStatusCache;
+import api.techhatch.com.model.UserPrinciple;
+import api.techhatch.com.model.Users;
+import api.techhatch.com.revocation.TokenRevocationList;
 import api.techhatch.com.service.CustomUserDetailsService;
 import api.techhatch.com.util.JwtUtil;
+import api.techhatch.com.util.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -28,23 +34,30 @@ public class JwtFilter extends OncePerRequestFilter {
     private ApplicationContext context;
     @Autowired
     private CustomUserDetailsService userDetailsService;
-
+    @Autowired
+    private UserStatusCache userStatusCache;
+    @Autowired
+    private TokenRevocationList revocationList;
+    //false loads the user from the database on every request, as before
+    @Value("${jwt.principal-from-claims:true}")
+    private boolean principalFromClaims;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String email = null;
+        VerifiedToken token = null;
 
+        //the token is parsed and its signature checked once, or not at all when it was verified before
         if( authHeader!=null && authHeader.startsWith("Bearer ")){
-            token = authHeader.substring(7);
-            email = jwtUtil.getEmailFromToken(token);
+            token = jwtUtil.verify(authHeader.substring(7));
+            //revoked tokens (logout) stay unauthenticated, the check stays in memory
+            if (revocationList.isRevoked(token)) token = null;
         }
 
-        if(email!=null && SecurityContextHolder.getContext().getAuthentication()==null){
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-            if (jwtUtil.validateToken(token, userDetails)){
+        if(token!=null && SecurityContextHolder.getContext().getAuthentication()==null){
+            UserDetails userDetails = principalOf(token);
+            if (userDetails != null && jwtUtil.validateToken(token, userDetails)){
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -54,4 +67,21 @@ public class JwtFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request,response);
     }
+
+    //the token carries email, role and userId, only the account status is looked up (and cached)
+    private UserDetails principalOf(VerifiedToken token) {
+        if (!principalFromClaims || token.userId() == null || token.role() == null) {
+            return userDetailsService.loadUserByUsername(token.email());
+        }
+        Users.AccountStatus status = userStatusCache.get(token.userId());
+        //suspended or deleted users stay unauthenticated and get a 401
+        if (status != Users.AccountStatus.ACTIVE) return null;
+
+        return new UserPrinciple(Users.builder()
+                .id(token.userId())
+                .email(token.email())
+                .role(Users.Role.valueOf(token.role()))
+                .accountStatus(status)
+                .build());
+    }
 }
@@ -1,6 +1,8 @@
 package api.techhatch.com.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,13 +19,16 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 import org.springframework.web.servlet.handler.AbstractHandlerMapping;
 
 import java.util.ArrayList;
@@ -37,9 +42,16 @@ public class SecurityConfig{
     @Autowired
     UserDetailsService userDetailsService;
 
+    @Autowired
+    UserDetailsPasswordService userDetailsPasswordService;
+
     @Autowired
     private JwtFilter jwtFilter;
 
+    @Autowired
+    @Qualifier("handlerExceptionResolver")
+    private HandlerExceptionResolver handlerExceptionResolver;
+
     @Value("${CLIENT.URL}")
     private String clientUrl;
 
@@ -50,7 +62,7 @@ public class SecurityConfig{
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(a -> a
                         .requestMatchers("/","/api/v1/auth/**","/test","/error","/webjars/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/v1/jobs").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/jobs", "/api/v1/jobs/scroll", "/api/v1/jobs/suggest").permitAll()
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling( ex -> ex
@@ -58,22 +70,31 @@ public class SecurityConfig{
                 )
                 .httpBasic(Customizer.withDefaults())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                //HTTP Basic checks passwords on the bounded hashing pool, a full pool is a 429 like on login
+                .addFilterBefore(new TooManyRequestsFilter(handlerExceptionResolver), BasicAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider(){
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder){
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
+        //stores a new hash on login when the stored one has another cost than password-hashing.strength
+        provider.setUserDetailsPasswordService(userDetailsPasswordService);
 
         return provider;
     }
 
     @Bean
-    public BCryptPasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${password-hashing.strength:12}") int strength,
+                                           @Value("${password-hashing.threads:0}") int threads,
+                                           @Value("${password-hashing.queue-capacity:32}") int queueCapacity){
+        //0 threads means one per core, hashing is pure CPU
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(strength, poolSize, queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,36 @@
+package api.techhatch.com.config;
+
+import api.techhatch.com.exception.TooManyRequestsException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+
+/**
+ * Answers a {@link TooManyRequestsException} thrown inside the security filter chain, e.g. by the password check of
+ * HTTP Basic when the hashing pool is full, with the same 429 and Retry-After as one thrown by a controller.
+ * Created by {@link SecurityConfig} only, as a bean it would also be registered as a servlet filter.
+ */
+public class TooManyRequestsFilter extends OncePerRequestFilter {
+
+    private final HandlerExceptionResolver exceptionResolver;
+
+    public TooManyRequestsFilter(HandlerExceptionResolver exceptionResolver) {
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (TooManyRequestsException e) {
+            //nothing can be answered once the response is committed
+            if (response.isCommitted()) throw e;
+            exceptionResolver.resolveException(request, response, null, e);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import api.techhatch.com.model.UserPrinciple;
 import api.techhatch.com.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -41,4 +42,11 @@ public class AuthController {
         AuthResponse response = service.getCurrentUser(userPrinciple);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<AuthResponse> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization){
+
+        AuthResponse response = service.logout(authorization);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -2,6 +2,7 @@ package api.techhatch.com.controller;
 
 import api.techhatch.com.dto.request.ApplicationStatusUpdateRequest;
 import api.techhatch.com.dto.request.JobApplicationRequest;
+import api.techhatch.com.dto.response.CursorPage;
 import api.techhatch.com.dto.response.JobApplicationResponse;
 import api.techhatch.com.model.UserPrinciple;
 import api.techhatch.com.service.JobApplicationService;
@@ -76,6 +77,45 @@ public class JobApplicationController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get all jobs applied by candidate, keyset paginated
+     * @param cursor nextCursor of the previous slice, omit for the first slice
+     * @param includeCount also return the total number of applications
+     * @return slice of applied jobs
+     */
+    @GetMapping("/my-applications/scroll")
+    @PreAuthorize("hasRole('CANDIDATE')")
+    public ResponseEntity<CursorPage<JobApplicationResponse>> scrollMyJobApplications(
+            @AuthenticationPrincipal UserPrinciple userPrinciple,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeCount){
+
+        CursorPage<JobApplicationResponse> response = applicationService.scrollMyJobApplications(
+                userPrinciple.getUsername(), status, cursor, includeCount);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get applications for a job (recruiter), keyset paginated
+     * @param cursor nextCursor of the previous slice, omit for the first slice
+     * @param includeCount also return the total number of applications
+     * @return slice of applications for the job
+     */
+    @GetMapping("/job/{jobId}/scroll")
+    @PreAuthorize("hasRole('RECRUITER')")
+    public ResponseEntity<CursorPage<JobApplicationResponse>> scrollJobApplications(
+            @AuthenticationPrincipal UserPrinciple userPrinciple,
+            @PathVariable Long jobId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeCount){
+
+        CursorPage<JobApplicationResponse> response = applicationService.scrollJobApplications(
+                userPrinciple.getUsername(), jobId, status, cursor, includeCount);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<JobApplicationResponse> getApplicationById(
             @AuthenticationPrincipal UserPrinciple userPrinciple,
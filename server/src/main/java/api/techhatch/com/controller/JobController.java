@@ -1,15 +1,23 @@
 package api.techhatch.com.controller;
 
+import api.techhatch.com.cache.CachedJobDetail;
 import api.techhatch.com.dto.request.JobCreateRequest;
 import api.techhatch.com.dto.request.JobSearchFilter;
+import api.techhatch.com.dto.response.CursorPage;
 import api.techhatch.com.dto.response.JobResponse;
+import api.techhatch.com.dto.response.JobSummaryResponse;
+import api.techhatch.com.dto.response.RecommendedJobResponse;
+import api.techhatch.com.dto.response.SuggestionResponse;
 import api.techhatch.com.model.UserPrinciple;
 import api.techhatch.com.service.JobService;
 import io.micrometer.common.util.StringUtils;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -17,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -42,9 +51,13 @@ public class JobController {
     /**
      * Search jobs with filters (Public)
      * Example: GET /api/v1/jobs?keyword=java&location=bangalore&jobType=FULL_TIME&page=0
+     * searchMode: index, like, natural or boolean (MySQL FULLTEXT), sortBy: relevance or postedDate
+     * Without a keyword only the structured filters apply: GET /api/v1/jobs?jobType=FULL_TIME&minSalary=800000
+     * skill restricts results to jobs requiring that skill: GET /api/v1/jobs?skill=Spring Boot
+     * near and radiusKm restrict results to jobs around a place: GET /api/v1/jobs?near=Bangalore&radiusKm=30
      */
     @GetMapping
-    public ResponseEntity<Page<JobResponse>> searchJobs(
+    public ResponseEntity<Page<JobSummaryResponse>> searchJobs(
             @RequestParam(defaultValue = "") String keyword,
             @RequestParam(required = false) String location,
             @RequestParam(required = false) String jobType,
@@ -53,12 +66,16 @@ public class JobController {
             @RequestParam(required = false) BigDecimal maxSalary,
             @RequestParam(required = false) LocalDateTime fromDate,
             @RequestParam(required = false) LocalDateTime toDate,
-            @RequestParam(defaultValue = "0") int page) {
-
-        //if keyword is missing return with bad request - will handle this exception gracefully
-        if (StringUtils.isBlank(keyword)) return ResponseEntity.badRequest().build();
+            @RequestParam(required = false) String skill,
+            @RequestParam(required = false) String near,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String searchMode,
+            @RequestParam(required = false) String sortBy) {
+
+        //a blank keyword is a filter-only search, served from memory
         JobSearchFilter filter = new JobSearchFilter();
-        filter.setKeyword(keyword);
+        filter.setKeyword(StringUtils.isBlank(keyword) ? null : keyword);
         filter.setLocation(location);
         filter.setJobType(jobType);
         filter.setExperienceLevel(experienceLevel);
@@ -67,18 +84,99 @@ public class JobController {
         filter.setPage(page);
         filter.setFromDate(fromDate);
         filter.setToDate(toDate);
+        filter.setSkill(skill);
+        filter.setNear(near);
+        filter.setRadiusKm(radiusKm);
+        filter.setSearchMode(searchMode);
+        filter.setSortBy(sortBy);
+
+        Page<JobSummaryResponse> jobs = jobService.searchJobs(filter);
+        return ResponseEntity.ok(jobs);
+    }
+
+    /**
+     * Keyset paginated search, newest first (Public)
+     * Example: GET /api/v1/jobs/scroll?keyword=java&includeCount=true, then GET /api/v1/jobs/scroll?keyword=java&cursor={nextCursor}
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<JobSummaryResponse>> scrollJobs(
+            @RequestParam(defaultValue = "") String keyword,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String jobType,
+            @RequestParam(required = false) String experienceLevel,
+            @RequestParam(required = false) BigDecimal minSalary,
+            @RequestParam(required = false) BigDecimal maxSalary,
+            @RequestParam(required = false) LocalDateTime fromDate,
+            @RequestParam(required = false) LocalDateTime toDate,
+            @RequestParam(required = false) String skill,
+            @RequestParam(required = false) String near,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeCount) {
+
+        //a blank keyword is a filter-only search, as on the paged listing
+        JobSearchFilter filter = new JobSearchFilter();
+        filter.setKeyword(StringUtils.isBlank(keyword) ? null : keyword);
+        filter.setLocation(location);
+        filter.setJobType(jobType);
+        filter.setExperienceLevel(experienceLevel);
+        filter.setMinSalary(minSalary);
+        filter.setMaxSalary(maxSalary);
+        filter.setFromDate(fromDate);
+        filter.setToDate(toDate);
+        filter.setSkill(skill);
+        filter.setNear(near);
+        filter.setRadiusKm(radiusKm);
 
-        Page<JobResponse> jobs = jobService.searchJobs(filter);
+        CursorPage<JobSummaryResponse> jobs = jobService.scrollJobs(filter, cursor, includeCount);
         return ResponseEntity.ok(jobs);
     }
 
+    /**
+     * Typeahead suggestions (Public)
+     * Example: GET /api/v1/jobs/suggest?q=jav&limit=8
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        List<SuggestionResponse> suggestions = jobService.suggest(q, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
     /**
      * Get job by ID (Public - increments view count)
+     * Sends a strong ETag, clients and CDNs revalidate with If-None-Match and get a 304 while the job is unchanged
      */
     @GetMapping("/{id}")
-    public ResponseEntity<JobResponse> getJobById(@PathVariable Long id) {
-        JobResponse response = jobService.getJobById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<byte[]> getJobById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CachedJobDetail job = jobService.getJobById(id);
+        //cacheable anywhere but revalidated on every use, so views are still counted
+        CacheControl cacheControl = CacheControl.noCache().cachePublic();
+        if (job.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(job.etag()).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(job.etag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(job.body());
+    }
+
+    /**
+     * Recommended jobs for the logged in candidate, precomputed from skills, experience and location
+     */
+    @GetMapping("/recommended")
+    @PreAuthorize("hasRole('CANDIDATE')")
+    public ResponseEntity<List<RecommendedJobResponse>> getRecommendedJobs(
+            @AuthenticationPrincipal UserPrinciple userPrinciple) {
+
+        String email = userPrinciple.getUsername();
+        List<RecommendedJobResponse> jobs = jobService.getRecommendedJobs(email);
+        return ResponseEntity.ok(jobs);
     }
 
     /**
@@ -95,6 +193,21 @@ public class JobController {
         return ResponseEntity.ok(jobs);
     }
 
+    /**
+     * Get my posted jobs with keyset pagination (Recruiter only)
+     */
+    @GetMapping("/my-jobs/scroll")
+    @PreAuthorize("hasRole('RECRUITER')")
+    public ResponseEntity<CursorPage<JobResponse>> scrollMyJobs(
+            @AuthenticationPrincipal UserPrinciple userPrinciple,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeCount) {
+
+        String email = userPrinciple.getUsername();
+        CursorPage<JobResponse> jobs = jobService.scrollMyJobs(email, cursor, includeCount);
+        return ResponseEntity.ok(jobs);
+    }
+
     /**
      * Update job (Owner only)
      */
@@ -17,5 +17,14 @@ public class JobSearchFilter {
     private BigDecimal maxSalary;
     private LocalDateTime fromDate;
     private LocalDateTime toDate;
+    //jobs requiring this skill, matched against the normalized skill dictionary
+    private String skill;
+    //jobs within radiusKm (default 25) of this place, resolved against the gazetteer ("Bangalore" = "Bengaluru")
+    private String near;
+    private Double radiusKm;
     private int page=0;
+    //index, like, natural or boolean - server default when missing
+    private String searchMode;
+    //relevance or postedDate
+    private String sortBy;
 }
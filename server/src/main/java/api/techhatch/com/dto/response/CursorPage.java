@@ -0,0 +1,46 @@
+package api.techhatch.com.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Slice of a keyset-paginated listing.
+ * Pass nextCursor back as the cursor param to fetch the following slice, totalElements is only set when requested.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long totalElements;
+
+    /**
+     * @param rows query result fetched with a limit of size + 1, the extra row only signals that there is a next slice
+     * @param size requested slice size
+     * @param cursorOf builds the cursor of a row
+     * @param mapper maps a row to its response
+     * @param totalElements total count or null when it was not requested
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, String> cursorOf,
+                                          Function<E, T> mapper, Long totalElements) {
+        boolean hasNext = rows.size() > size;
+        List<E> slice = hasNext ? rows.subList(0, size) : rows;
+        return CursorPage.<T>builder()
+                .content(slice.stream().map(mapper).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(slice.getLast()) : null)
+                .totalElements(totalElements)
+                .build();
+    }
+}
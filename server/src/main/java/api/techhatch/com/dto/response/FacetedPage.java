@@ -0,0 +1,23 @@
+package api.techhatch.com.dto.response;
+
+import api.techhatch.com.search.JobFacets;
+import lombok.Getter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Search page that also carries the facet counts of the whole match set,
+ * serialized like any other page plus a "facets" property
+ */
+@Getter
+public class FacetedPage<T> extends PageImpl<T> {
+
+    private final JobFacets facets;
+
+    public FacetedPage(List<T> content, Pageable pageable, long total, JobFacets facets) {
+        super(content, pageable, total);
+        this.facets = facets;
+    }
+}
@@ -0,0 +1,35 @@
+package api.techhatch.com.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Job card shown in search results, the full text is only served by GET /api/v1/jobs/{id}
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobSummaryResponse {
+    private Long id;
+    private String title;
+    private String location;
+    private String jobType;
+    private String workMode;
+    private String experienceLevel;
+    private BigDecimal salaryMin;
+    private BigDecimal salaryMax;
+    private String currency;
+    private String salaryRange;  // Formatted: "8-12 LPA"
+    private List<String> requiredSkills;
+    private String status;
+    private String postedDate;
+    private String expiryDate;
+
+    private JobResponse.CompanyInfo company;
+}
@@ -0,0 +1,15 @@
+package api.techhatch.com.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecommendedJobResponse {
+    private JobSummaryResponse job;
+    private double score;  // 0 - 1, higher is a better match
+}
@@ -0,0 +1,16 @@
+package api.techhatch.com.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SuggestionResponse {
+    private String text;
+    private String type;  // TITLE, SKILL, LOCATION, COMPANY
+    private int jobCount;  // active jobs using the text
+}
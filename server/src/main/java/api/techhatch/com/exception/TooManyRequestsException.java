@@ -0,0 +1,8 @@
+package api.techhatch.com.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,74 @@
+package api.techhatch.com.geo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offline place lookup backed by a bundled CSV (gazetteer/places.csv), loaded once at startup.
+ * Free text locations are resolved by canonical name or alias, so "Bangalore", "bengaluru" and
+ * "Whitefield, Bangalore, Karnataka" all resolve to Bengaluru.
+ */
+@Component
+@Slf4j
+public class Gazetteer {
+
+    private final Map<String, Place> placesByName = new HashMap<>();
+
+    public Gazetteer(@Value("${geo.gazetteer.location:classpath:gazetteer/places.csv}") Resource source) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(source.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                load(line);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read gazetteer " + source, e);
+        }
+        log.info("Gazetteer loaded with {} names", placesByName.size());
+    }
+
+    /**
+     * @param location free text as typed by a user, e.g. "Gurgaon, Haryana"
+     * @return the place of the whole text, else of the first comma separated part naming a known place
+     */
+    public Optional<Place> resolve(String location) {
+        if (location == null || location.isBlank()) return Optional.empty();
+        Place place = placesByName.get(key(location));
+        if (place != null) return Optional.of(place);
+        for (String part : location.split(",")) {
+            place = placesByName.get(key(part));
+            if (place != null) return Optional.of(place);
+        }
+        return Optional.empty();
+    }
+
+    private void load(String line) {
+        String[] columns = line.split(",", -1);
+        Place place = new Place(columns[0].trim(), columns[1].trim(), columns[2].trim(),
+                Double.parseDouble(columns[3].trim()), Double.parseDouble(columns[4].trim()));
+        placesByName.put(key(place.name()), place);
+        if (columns.length > 5 && !columns[5].isBlank()) {
+            for (String alias : columns[5].split("\\|")) {
+                placesByName.putIfAbsent(key(alias), place);
+            }
+        }
+    }
+
+    //case, punctuation and repeated spaces do not matter
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+}
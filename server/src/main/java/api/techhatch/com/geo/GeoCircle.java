@@ -0,0 +1,68 @@
+package api.techhatch.com.geo;
+
+/**
+ * "Within radiusKm of a point" filter.
+ * Distances use the equirectangular approximation, which is what the SQL queries can evaluate with plain
+ * arithmetic, so every search mode agrees on the result. Within the supported radius the error stays below 1%.
+ * Circles crossing the antimeridian are not supported.
+ */
+public record GeoCircle(double latitude, double longitude, double radiusKm) {
+
+    public static final double MAX_RADIUS_KM = 500;
+
+    //mean earth radius (6371 km) times pi / 180
+    private static final double KM_PER_DEGREE = 111.195;
+
+    public GeoCircle {
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new IllegalArgumentException("radiusKm must be in (0, " + MAX_RADIUS_KM + "]");
+        }
+    }
+
+    public boolean contains(Double lat, Double lon) {
+        if (lat == null || lon == null) return false;
+        if (lat < minLat() || lat > maxLat() || lon < minLon() || lon > maxLon()) return false;
+        double dLat = lat - latitude;
+        double dLon = lon - longitude;
+        return dLat * dLat + dLon * dLon * lonScaleSquared() <= radiusDegreesSquared();
+    }
+
+    //bounding box, lets the SQL queries use a range scan on idx_jobs_geo before the exact check
+
+    public double minLat() {
+        return latitude - radiusDegrees();
+    }
+
+    public double maxLat() {
+        return latitude + radiusDegrees();
+    }
+
+    public double minLon() {
+        return longitude - radiusDegrees() / lonScale();
+    }
+
+    public double maxLon() {
+        return longitude + radiusDegrees() / lonScale();
+    }
+
+    /**
+     * @return length of a degree of longitude relative to a degree of latitude at the center
+     */
+    public double lonScale() {
+        return Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+    }
+
+    public double radiusDegrees() {
+        return radiusKm / KM_PER_DEGREE;
+    }
+
+    //squared forms, bound as query parameters
+
+    public double lonScaleSquared() {
+        return lonScale() * lonScale();
+    }
+
+    public double radiusDegreesSquared() {
+        return radiusDegrees() * radiusDegrees();
+    }
+}
@@ -0,0 +1,93 @@
+package api.techhatch.com.geo;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable spatial grid over the rows of a snapshot: the world is cut into fixed cells of CELL_DEGREES and each
+ * cell keeps the ascending row numbers of the points inside it. A radius query only visits the cells covering the
+ * bounding box of its circle.
+ */
+public final class GeoGrid {
+
+    //about 55 km, a typical city search (25 km) touches four cells
+    private static final double CELL_DEGREES = 0.5;
+
+    private final Map<Long, int[]> rowsByCell;
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    private GeoGrid(Map<Long, int[]> rowsByCell, double[] latitudes, double[] longitudes) {
+        this.rowsByCell = rowsByCell;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+    }
+
+    /**
+     * @param latitudes row -> latitude, null for rows without coordinates (never returned)
+     * @param longitudes row -> longitude
+     */
+    public static GeoGrid of(Double[] latitudes, Double[] longitudes) {
+        int rows = latitudes.length;
+        double[] lats = new double[rows];
+        double[] lons = new double[rows];
+        Map<Long, int[]> cells = new HashMap<>();
+        Map<Long, Integer> fill = new HashMap<>();
+        //two passes, count then fill, so every cell gets an exactly sized array
+        for (int row = 0; row < rows; row++) {
+            if (latitudes[row] == null || longitudes[row] == null) continue;
+            fill.merge(cell(latitudes[row], longitudes[row]), 1, Integer::sum);
+        }
+        fill.forEach((cell, count) -> cells.put(cell, new int[count]));
+        fill.replaceAll((cell, count) -> 0);
+        for (int row = 0; row < rows; row++) {
+            if (latitudes[row] == null || longitudes[row] == null) continue;
+            lats[row] = latitudes[row];
+            lons[row] = longitudes[row];
+            long cell = cell(latitudes[row], longitudes[row]);
+            int position = fill.merge(cell, 1, Integer::sum) - 1;
+            cells.get(cell)[position] = row;
+        }
+        return new GeoGrid(cells, lats, lons);
+    }
+
+    /**
+     * @return rows inside the circle, ascending
+     */
+    public int[] rowsWithin(GeoCircle circle) {
+        int minRow = index(circle.minLat());
+        int maxRow = index(circle.maxLat());
+        int minColumn = index(circle.minLon());
+        int maxColumn = index(circle.maxLon());
+
+        int[] matches = new int[16];
+        int count = 0;
+        for (int latCell = minRow; latCell <= maxRow; latCell++) {
+            for (int lonCell = minColumn; lonCell <= maxColumn; lonCell++) {
+                int[] rows = rowsByCell.get(key(latCell, lonCell));
+                if (rows == null) continue;
+                for (int row : rows) {
+                    if (!circle.contains(latitudes[row], longitudes[row])) continue;
+                    if (count == matches.length) matches = Arrays.copyOf(matches, count * 2);
+                    matches[count++] = row;
+                }
+            }
+        }
+        int[] result = Arrays.copyOf(matches, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static long cell(double latitude, double longitude) {
+        return key(index(latitude), index(longitude));
+    }
+
+    private static int index(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long key(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,98 @@
+package api.techhatch.com.geo;
+
+import api.techhatch.com.model.Job;
+import api.techhatch.com.repository.JobRepo;
+import api.techhatch.com.search.JobChangedEvent;
+import api.techhatch.com.search.JobDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Resolves the coordinates of jobs posted before locations were geocoded (or before the gazetteer knew their place).
+ * Runs once on startup in id-ordered chunks, one short transaction per chunk. The changed active jobs of a chunk
+ * are republished as one {@link JobChangedEvent} so the in-memory indexes pick up the coordinates.
+ */
+@Component
+@Slf4j
+public class JobGeocodingBackfill {
+
+    private final JobRepo jobRepo;
+    private final Gazetteer gazetteer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final int chunkSize;
+
+    public JobGeocodingBackfill(JobRepo jobRepo,
+                                Gazetteer gazetteer,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${geo.backfill.enabled:true}") boolean enabled,
+                                @Value("${geo.backfill.chunk-size:500}") int chunkSize) {
+        this.jobRepo = jobRepo;
+        this.gazetteer = gazetteer;
+        this.eventPublisher = eventPublisher;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!enabled) return;
+        Thread.ofVirtual().name("job-geocoding-backfill").start(this::backfill);
+    }
+
+    public void backfill() {
+        long resolved = 0;
+        long lastId = 0;
+        try {
+            while (true) {
+                final long afterId = lastId;
+                ChunkResult chunk = tx.execute(status -> geocodeChunk(afterId));
+                if (chunk == null) break;
+                resolved += chunk.resolved();
+                if (chunk.lastId() == null) break;
+                lastId = chunk.lastId();
+            }
+        } catch (RuntimeException e) {
+            log.error("Job geocoding backfill failed after job {}", lastId, e);
+        }
+        if (resolved > 0) log.info("Resolved coordinates of {} jobs", resolved);
+    }
+
+    private ChunkResult geocodeChunk(long afterId) {
+        List<Job> jobs = jobRepo.findUngeocodedAfter(afterId, PageRequest.of(0, chunkSize));
+        if (jobs.isEmpty()) return new ChunkResult(null, 0);
+
+        int resolved = 0;
+        List<JobDocument> changed = new ArrayList<>();
+        for (Job job : jobs) {
+            Optional<Place> place = gazetteer.resolve(job.getLocation());
+            if (place.isEmpty()) continue;
+            job.setLatitude(place.get().latitude());
+            job.setLongitude(place.get().longitude());
+            resolved++;
+            if (job.getJobStatus() == Job.JobStatus.ACTIVE) changed.add(JobDocument.from(job));
+        }
+        //delivered after the chunk commits
+        if (!changed.isEmpty()) eventPublisher.publishEvent(JobChangedEvent.upsertedAll(changed));
+        //a short chunk is the last one
+        return new ChunkResult(jobs.size() < chunkSize ? null : jobs.getLast().getId(), resolved);
+    }
+
+    //lastId is null once the scan is done
+    private record ChunkResult(Long lastId, int resolved) {
+    }
+}
@@ -0,0 +1,7 @@
+package api.techhatch.com.geo;
+
+/**
+ * A gazetteer entry, name is the canonical spelling ("Bengaluru" for "Bangalore")
+ */
+public record Place(String name, String state, String country, double latitude, double longitude) {
+}
@@ -0,0 +1,100 @@
+package api.techhatch.com.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Closed or expired job moved out of the jobs table by {@link api.techhatch.com.service.JobArchiver}.
+ * Rows keep the id they had in jobs and are only written by the archiver's INSERT ... SELECT.
+ */
+@Entity
+@Table(name = "jobs_archive")
+@Immutable
+@NoArgsConstructor
+@Getter
+public class ArchivedJob {
+
+    @Id
+    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "recruiter_id", nullable = false)
+    private RecruiterProfile recruiterProfile;
+    private String title;
+    private String description;
+    private String requirements;
+    private String responsibilities;
+    private String location;
+    private Double latitude;
+    private Double longitude;
+    @Column(name = "job_type")
+    @Enumerated(EnumType.STRING)
+    private Job.JobType jobType;
+    @Column(name = "work_mode")
+    @Enumerated(EnumType.STRING)
+    private Job.WorkMode workMode;
+    @Column(name = "experience_level")
+    @Enumerated(EnumType.STRING)
+    private Job.ExperienceLevel experienceLevel;
+    @Column(name = "salary_min", precision = 10, scale = 2)
+    private BigDecimal salaryMin;
+    @Column(name = "salary_max", precision = 10, scale = 2)
+    private BigDecimal salaryMax;
+    private String currency;
+    @Convert(converter = SkillListConverter.class)
+    @Column(name = "required_skills", columnDefinition = "JSON")
+    private List<String> requiredSkills;
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    private Job.JobStatus jobStatus;
+    @Column(name = "posted_date")
+    private LocalDateTime postedDate;
+    @Column(name = "expiry_date")
+    private LocalDateTime expiryDate;
+    @Column(name = "view_count")
+    private Integer viewCount;
+    @Column(name = "application_count")
+    private Integer applicationCount;
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    /**
+     * Detached {@link Job} with the archived values, lets the read paths map archived and live jobs the same way
+     */
+    public Job toJob() {
+        return Job.builder()
+                .id(id)
+                .recruiterProfile(recruiterProfile)
+                .title(title)
+                .description(description)
+                .requirements(requirements)
+                .responsibilities(responsibilities)
+                .location(location)
+                .latitude(latitude)
+                .longitude(longitude)
+                .jobType(jobType)
+                .workMode(workMode)
+                .experienceLevel(experienceLevel)
+                .salaryMin(salaryMin)
+                .salaryMax(salaryMax)
+                .currency(currency)
+                .requiredSkills(requiredSkills)
+                .jobStatus(jobStatus)
+                .postedDate(postedDate)
+                .expiryDate(expiryDate)
+                .viewCount(viewCount)
+                .applicationCount(applicationCount)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
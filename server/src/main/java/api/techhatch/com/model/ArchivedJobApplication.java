@@ -0,0 +1,56 @@
+package api.techhatch.com.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application of an {@link ArchivedJob}, moved out of the applications table together with its job.
+ * Rows keep the id they had in applications.
+ */
+@Entity
+@Table(name = "applications_archive")
+@Immutable
+@NoArgsConstructor
+@Getter
+public class ArchivedJobApplication {
+
+    @Id
+    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "job_id", nullable = false)
+    private ArchivedJob job;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "candidate_id", nullable = false)
+    private CandidateProfile candidateProfile;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobApplication.Status status;
+    @Column(name = "cover_letter")
+    private String coverLetter;
+    @Column(name = "recruiter_notes")
+    private String recruiterNotes;
+    @Column(name = "applied_date")
+    private LocalDateTime appliedDate;
+    @Column(name = "last_updated")
+    private LocalDateTime lastUpdated;
+
+    /**
+     * Detached {@link JobApplication} with the archived values, its job is the detached {@link ArchivedJob#toJob()}
+     */
+    public JobApplication toApplication() {
+        return JobApplication.builder()
+                .id(id)
+                .job(job.toJob())
+                .candidateProfile(candidateProfile)
+                .status(status)
+                .coverLetter(coverLetter)
+                .recruiterNotes(recruiterNotes)
+                .appliedDate(appliedDate)
+                .lastUpdated(lastUpdated)
+                .build();
+    }
+}
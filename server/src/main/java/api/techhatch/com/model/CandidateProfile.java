@@ -2,11 +2,20 @@ package api.techhatch.com.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.util.StringUtils;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @Entity
 @Table(name = "candidate_profiles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "candidate-profiles")
+@NaturalIdCache(region = "candidate-profiles-natural-id")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,6 +26,8 @@ public class CandidateProfile {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    //one profile per user, lookups by email go users -> profile through the natural id caches
+    @NaturalId
     @OneToOne
     @JoinColumn(name = "user_id", unique = true, nullable = false)
     private Users user;
@@ -26,8 +37,16 @@ public class CandidateProfile {
     @Column(name = "experience_years")
     private Integer experienceYears;
     private String education;
+    @Convert(converter = SkillListConverter.class)
     @Column(columnDefinition = "JSON")
-    private String skills;
+    private List<String> skills;
+    //normalized postings of skills
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "candidate_skills",
+            joinColumns = @JoinColumn(name = "candidate_id"),
+            inverseJoinColumns = @JoinColumn(name = "skill_id"))
+    @Builder.Default
+    private Set<Skill> skillPostings = new HashSet<>();
     @Column(columnDefinition = "TEXT")
     private String bio;
     @Column(name = "resume_url")
@@ -60,7 +79,7 @@ public class CandidateProfile {
 
     public boolean isProfileComplete(){
         return StringUtils.hasText(fullName) &&
-                StringUtils.hasText(skills);
+                skills != null && !skills.isEmpty();
                 // && StringUtils.hasText(resumeUrl);
     }
 }
@@ -5,6 +5,9 @@ import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @Entity
 @Table(name = "jobs")
@@ -42,6 +45,9 @@ public class Job {
     private String requirements;
     private String responsibilities;
     private String location;
+    //coordinates of the location resolved against the gazetteer, null when it is not a known place
+    private Double latitude;
+    private Double longitude;
     @Column(name = "job_type")
     @Enumerated(EnumType.STRING)
     private JobType jobType;
@@ -56,8 +62,16 @@ public class Job {
     @Column(name = "salary_max", precision = 10, scale = 2)
     private BigDecimal salaryMax;
     private String currency;
+    @Convert(converter = SkillListConverter.class)
     @Column(name = "required_skills", columnDefinition = "JSON")
-    private String requiredSkills;
+    private List<String> requiredSkills;
+    //normalized postings of requiredSkills, queried by the skill filter
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "job_skills",
+            joinColumns = @JoinColumn(name = "job_id"),
+            inverseJoinColumns = @JoinColumn(name = "skill_id"))
+    @Builder.Default
+    private Set<Skill> skillPostings = new HashSet<>();
     @Column(name = "status")
     @Enumerated(EnumType.STRING)
     private JobStatus jobStatus=JobStatus.ACTIVE;
@@ -65,9 +79,11 @@ public class Job {
     private LocalDateTime postedDate;
     @Column(name = "expiry_date", updatable = false)
     private LocalDateTime expiryDate;
-    @Column(name = "view_count")
+    //only written by JobViewCounter, an entity save must not overwrite the flushed count
+    @Column(name = "view_count", updatable = false)
     private Integer viewCount;
-    @Column(name = "application_count")
+    //only written by JobRepo.incrementApplicationCount
+    @Column(name = "application_count", updatable = false)
     private Integer applicationCount;
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -6,8 +6,15 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+//what each listing maps: candidates see the job and its company, recruiters the candidate and their email
+@NamedEntityGraph(name = JobApplication.CANDIDATE_VIEW,
+        attributeNodes = @NamedAttributeNode(value = "job", subgraph = "job"),
+        subgraphs = @NamedSubgraph(name = "job", attributeNodes = @NamedAttributeNode("recruiterProfile")))
+@NamedEntityGraph(name = JobApplication.RECRUITER_VIEW,
+        attributeNodes = @NamedAttributeNode(value = "candidateProfile", subgraph = "candidate"),
+        subgraphs = @NamedSubgraph(name = "candidate", attributeNodes = @NamedAttributeNode("user")))
 @Table(name = "applications",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"candidate_id", "job_id"}))
+        uniqueConstraints = @UniqueConstraint(name = "unique_application", columnNames = {"job_id", "candidate_id"}))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -15,6 +22,9 @@ import java.time.LocalDateTime;
 @Builder
 public class JobApplication {
 
+    public static final String CANDIDATE_VIEW = "JobApplication.candidateView";
+    public static final String RECRUITER_VIEW = "JobApplication.recruiterView";
+
     public enum Status{
         APPLIED,UNDER_REVIEW,SHORTLISTED,INTERVIEW,REJECTED,OFFERED
     }
@@ -22,10 +32,11 @@ public class JobApplication {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
-    @ManyToOne
+    //lazy, listings fetch what they map through the entity graphs above
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "job_id", updatable = false)
     private Job job;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "candidate_id", updatable = false)
     private CandidateProfile candidateProfile;
     @Enumerated(EnumType.STRING)
@@ -46,7 +57,7 @@ public class JobApplication {
         lastUpdated = LocalDateTime.now();
     }
 
-    @PostPersist
+    @PreUpdate
     protected void onUpdate(){
         lastUpdated = LocalDateTime.now();
     }
@@ -2,12 +2,18 @@ package api.techhatch.com.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "recruiter_profiles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recruiter-profiles")
+@NaturalIdCache(region = "recruiter-profiles-natural-id")
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -18,6 +24,8 @@ public class RecruiterProfile {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    //one profile per user, lookups by email go users -> profile through the natural id caches
+    @NaturalId
     @OneToOne
     @JoinColumn(name = "user_id", unique = true, nullable = false)
     private Users user;
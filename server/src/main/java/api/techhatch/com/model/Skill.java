@@ -0,0 +1,37 @@
+package api.techhatch.com.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Locale;
+
+/**
+ * Entry of the skill dictionary, "Spring Boot", "spring  boot" and "SPRING BOOT" share one row
+ */
+@Entity
+@Table(name = "skills")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Skill {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    //display form of the first occurrence
+    @Column(nullable = false)
+    private String name;
+    @Column(name = "normalized_name", unique = true, nullable = false)
+    private String normalizedName;
+
+    /**
+     * @return trimmed, whitespace collapsed, lowercase form of a skill name, null for blank names
+     */
+    public static String normalize(String name) {
+        if (name == null) return null;
+        String normalized = name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+}
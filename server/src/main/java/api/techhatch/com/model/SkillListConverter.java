@@ -0,0 +1,58 @@
+package api.techhatch.com.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+import java.util.List;
+
+/**
+ * Maps a JSON skills column (["Java", "Spring Boot"]) to an immutable list.
+ * Decoded lists are cached by their JSON, so the same skills column is parsed once instead of on every load.
+ * Lists are immutable, replace them through the setter to change the skills.
+ */
+@Converter
+@Immutable
+public class SkillListConverter implements AttributeConverter<List<String>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Cache<String, List<String>> DECODED = Caffeine.newBuilder()
+            .maximumSize(20_000)
+            .build();
+
+    @Override
+    public String convertToDatabaseColumn(List<String> skills) {
+        if (skills == null || skills.isEmpty()) {
+            return "[]";
+        }
+        try {
+            String json = MAPPER.writeValueAsString(skills);
+            DECODED.put(json, List.copyOf(skills));
+            return json;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to convert skills to JSON", e);
+        }
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String json) {
+        if (json == null || json.isEmpty()) {
+            return List.of();
+        }
+        return DECODED.get(json, SkillListConverter::decode);
+    }
+
+    private static List<String> decode(String json) {
+        try {
+            return List.of(MAPPER.readValue(json, String[].class));
+        } catch (JsonProcessingException | NullPointerException e) {
+            //malformed or containing nulls, treated like the old parser did: no skills
+            return List.of();
+        }
+    }
+}
@@ -1,14 +1,22 @@
 package api.techhatch.com.model;
 
 
+import api.techhatch.com.cache.UserStatusListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserStatusListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-natural-id")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,6 +36,8 @@ public class Users {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long  id;
 
+    //never changes, lookups by email resolve the id through the natural id cache
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String email;
 
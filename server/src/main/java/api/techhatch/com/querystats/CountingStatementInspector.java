@@ -0,0 +1,15 @@
+package api.techhatch.com.querystats;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares for the current request, the statement is left untouched
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueryStats.statementPrepared();
+        return sql;
+    }
+}
@@ -0,0 +1,32 @@
+package api.techhatch.com.querystats;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time of statement and batch executions to the current request.
+ * Hibernate creates one listener per session from hibernate.session.events.auto, so the start time is not shared.
+ */
+public class JdbcTimingListener implements SessionEventListener {
+
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestQueryStats.jdbcExecuted(System.nanoTime() - executionStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestQueryStats.jdbcExecuted(System.nanoTime() - executionStart);
+    }
+}
@@ -0,0 +1,18 @@
+package api.techhatch.com.querystats;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QueryStatsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsHibernateProperties() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingListener.class.getName());
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package api.techhatch.com.querystats;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Measures the SQL statements and JDBC time of every request, including the user lookup of the JwtFilter,
+ * and publishes them as a {@link RequestQueriesEvent}.
+ * With query-stats.headers (dev profile) the numbers are also returned as X-Query-Count and X-Query-Time-Ms,
+ * the body is buffered for that so the headers can still be set after the controller has written it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    static final String COUNT_HEADER = "X-Query-Count";
+    static final String TIME_HEADER = "X-Query-Time-Ms";
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean headers;
+
+    public QueryStatsFilter(ApplicationEventPublisher eventPublisher,
+                            @Value("${query-stats.headers:false}") boolean headers) {
+        this.eventPublisher = eventPublisher;
+        this.headers = headers;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        ContentCachingResponseWrapper buffered = headers ? new ContentCachingResponseWrapper(response) : null;
+        RequestQueryStats stats = RequestQueryStats.start();
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            RequestQueryStats.stop();
+            eventPublisher.publishEvent(new RequestQueriesEvent(handlerOf(request), stats.getStatements(), stats.getJdbcTime()));
+            if (buffered != null) {
+                buffered.setHeader(COUNT_HEADER, String.valueOf(stats.getStatements()));
+                buffered.setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", stats.getJdbcTime().toNanos() / 1_000_000.0));
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    //HELPER METHODS
+
+    private static String handlerOf(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return "none";
+    }
+}
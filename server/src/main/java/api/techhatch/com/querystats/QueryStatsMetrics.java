@@ -0,0 +1,33 @@
+package api.techhatch.com.querystats;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records every request as http.server.requests.statements and http.server.requests.jdbc, tagged with the handler
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryStatsMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    @EventListener
+    public void onRequestQueries(RequestQueriesEvent event) {
+        DistributionSummary.builder("http.server.requests.statements")
+                .description("SQL statements prepared per request")
+                .baseUnit("statements")
+                .tag("handler", event.handler())
+                .register(meterRegistry)
+                .record(event.statements());
+        Timer.builder("http.server.requests.jdbc")
+                .description("Time spent executing SQL per request")
+                .tag("handler", event.handler())
+                .register(meterRegistry)
+                .record(event.jdbcTime());
+    }
+}
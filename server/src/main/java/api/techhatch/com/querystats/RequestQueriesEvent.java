@@ -0,0 +1,12 @@
+package api.techhatch.com.querystats;
+
+import java.time.Duration;
+
+/**
+ * Published by {@link QueryStatsFilter} when a request completes
+ * @param handler Controller.method that handled the request, "none" when no handler was reached
+ * @param statements SQL statements prepared while handling the request
+ * @param jdbcTime time spent executing them
+ */
+public record RequestQueriesEvent(String handler, int statements, Duration jdbcTime) {
+}
@@ -0,0 +1,47 @@
+package api.techhatch.com.querystats;
+
+import java.time.Duration;
+
+/**
+ * Statements prepared and JDBC time spent by the request running on the current thread.
+ * Opened and closed by {@link QueryStatsFilter}, fed by {@link CountingStatementInspector} and
+ * {@link JdbcTimingListener}. Work outside of a request (schedulers, startup) is not recorded.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+
+    private RequestQueryStats() {
+    }
+
+    static RequestQueryStats start() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    static void statementPrepared() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) stats.statements++;
+    }
+
+    static void jdbcExecuted(long nanos) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) stats.jdbcNanos += nanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+}
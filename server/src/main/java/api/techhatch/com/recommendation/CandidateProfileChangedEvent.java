@@ -0,0 +1,7 @@
+package api.techhatch.com.recommendation;
+
+/**
+ * Published when a candidate profile is created or updated
+ */
+public record CandidateProfileChangedEvent(CandidateVector candidate) {
+}
@@ -0,0 +1,30 @@
+package api.techhatch.com.recommendation;
+
+import api.techhatch.com.model.CandidateProfile;
+import api.techhatch.com.model.Skill;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Matching features of a candidate, built inside the transaction that loaded or changed the profile
+ * @param skills normalized skill names (Skill.normalize)
+ * @param location lowercase, null when not set
+ */
+public record CandidateVector(Long candidateId, Set<String> skills, Integer experienceYears, String location) {
+
+    public static CandidateVector from(CandidateProfile profile) {
+        Set<String> skills = new HashSet<>();
+        if (profile.getSkills() != null) {
+            for (String skill : profile.getSkills()) {
+                String key = Skill.normalize(skill);
+                if (key != null) skills.add(key);
+            }
+        }
+        String location = profile.getLocation() != null && !profile.getLocation().isBlank()
+                ? profile.getLocation().trim().toLowerCase(Locale.ROOT)
+                : null;
+        return new CandidateVector(profile.getId(), Set.copyOf(skills), profile.getExperienceYears(), location);
+    }
+}
@@ -0,0 +1,7 @@
+package api.techhatch.com.recommendation;
+
+/**
+ * A recommended job and its match score in [0, 1]
+ */
+public record Recommendation(Long jobId, double score) {
+}
@@ -0,0 +1,313 @@
+package api.techhatch.com.recommendation;
+
+import api.techhatch.com.recommendation.RecommendationScorer.JobVector;
+import api.techhatch.com.repository.CandidateProfileRepo;
+import api.techhatch.com.search.JobChangedEvent;
+import api.techhatch.com.search.JobDocument;
+import api.techhatch.com.search.JobIndexSink;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Precomputed top-N job recommendations per candidate.
+ * Active jobs arrive through the {@link JobIndexSink} callbacks, candidates are loaded once the job rebuild finishes
+ * and then follow {@link CandidateProfileChangedEvent}s. The full computation shards the candidates over a fork/join
+ * pool. Afterwards a batch of posted, changed or removed jobs is merged once into the lists of the candidates
+ * sharing a skill with one of its jobs (any other candidate scores them 0), and a changed profile only re-ranks that
+ * candidate. Requests just read the stored lists.
+ * All updates run on one updater thread in arrival order, readers never block.
+ */
+@Component
+@Slf4j
+public class RecommendationEngine implements JobIndexSink {
+
+    private static final Comparator<Recommendation> BEST_FIRST = Comparator
+            .comparingDouble(Recommendation::score).reversed()
+            .thenComparing(Recommendation::jobId, Comparator.reverseOrder());
+
+    private final CandidateProfileRepo candidateRepo;
+    private final TransactionTemplate readOnlyTx;
+    private final boolean enabled;
+    private final int topN;
+    private final int shardSize;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("recommendation-updater").daemon().factory());
+
+    //written by the updater thread only, jobs is also read by requests
+    private final Map<Long, JobVector> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, CandidateVector> candidates = new HashMap<>();
+    //skill -> ids of the candidates having it
+    private final Map<String, Set<Long>> candidatesBySkill = new HashMap<>();
+    private boolean rebuilding;
+
+    //candidate id -> best jobs, lists are immutable and replaced as a whole
+    private final Map<Long, List<Recommendation>> recommendations = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public RecommendationEngine(CandidateProfileRepo candidateRepo,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${recommendation.enabled:true}") boolean enabled,
+                                @Value("${recommendation.top-n:20}") int topN,
+                                @Value("${recommendation.shard-size:256}") int shardSize,
+                                @Value("${recommendation.parallelism:0}") int parallelism,
+                                @Value("${search.index.rebuild-chunk-size:500}") int chunkSize) {
+        this.candidateRepo = candidateRepo;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.enabled = enabled;
+        this.topN = topN;
+        this.shardSize = shardSize;
+        this.chunkSize = chunkSize;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * @return precomputed recommendations of the candidate, best first, empty when there are none yet
+     */
+    public List<Recommendation> recommendationsFor(Long candidateId) {
+        return recommendations.getOrDefault(candidateId, List.of());
+    }
+
+    /**
+     * @return the active job, null if it is no longer active
+     */
+    public JobDocument jobOf(Long jobId) {
+        JobVector job = jobs.get(jobId);
+        return job != null ? job.document() : null;
+    }
+
+    @Override
+    public void beginRebuild() {
+        submit(() -> {
+            rebuilding = true;
+            ready = false;
+            jobs.clear();
+        });
+    }
+
+    @Override
+    public void upsert(JobDocument document) {
+        submit(() -> applyChanges(List.of(document), List.of()));
+    }
+
+    @Override
+    public void remove(Long jobId) {
+        submit(() -> applyChanges(List.of(), List.of(jobId)));
+    }
+
+    @Override
+    public void apply(JobChangedEvent event) {
+        submit(() -> applyChanges(event.upserts(), event.removals()));
+    }
+
+    @Override
+    public void endRebuild() {
+        submit(() -> {
+            long started = System.currentTimeMillis();
+            loadCandidates();
+            recommendations.clear();
+            forEachCandidate(this::rank);
+            rebuilding = false;
+            ready = true;
+            log.info("Recommendations computed for {} candidates over {} jobs in {} ms",
+                    candidates.size(), jobs.size(), System.currentTimeMillis() - started);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCandidateProfileChanged(CandidateProfileChangedEvent event) {
+        submit(() -> {
+            CandidateVector candidate = event.candidate();
+            CandidateVector previous = candidates.put(candidate.candidateId(), candidate);
+            if (previous != null) unindex(previous);
+            index(candidate);
+            if (!rebuilding) rank(candidate);
+        });
+    }
+
+    /**
+     * Waits until every update submitted before the call has been applied
+     */
+    void awaitUpdates() throws InterruptedException {
+        try {
+            updater.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        updater.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    //HELPER METHODS
+
+    private void submit(Runnable update) {
+        if (!enabled) return;
+        updater.execute(() -> {
+            try {
+                update.run();
+            } catch (RuntimeException e) {
+                log.error("Recommendation update failed", e);
+            }
+        });
+    }
+
+    private void applyChanges(List<JobDocument> upserts, List<Long> removals) {
+        List<JobVector> added = new ArrayList<>(upserts.size());
+        //changed or removed jobs, lists holding one of them are re-ranked
+        Set<Long> dropped = new HashSet<>();
+        Set<String> skills = new HashSet<>();
+        for (JobDocument document : upserts) {
+            JobVector job = JobVector.from(document);
+            JobVector previous = jobs.put(job.jobId(), job);
+            added.add(job);
+            skills.addAll(job.skills());
+            if (previous != null) {
+                dropped.add(job.jobId());
+                skills.addAll(previous.skills());
+            }
+        }
+        for (Long jobId : removals) {
+            JobVector previous = jobs.remove(jobId);
+            if (previous == null) continue;
+            dropped.add(jobId);
+            skills.addAll(previous.skills());
+        }
+        if (rebuilding || skills.isEmpty()) return;
+        forEachCandidate(candidatesWith(skills), candidate -> update(candidate, added, dropped));
+    }
+
+    //incremental update of one candidate for a batch of job changes
+    private void update(CandidateVector candidate, List<JobVector> added, Set<Long> dropped) {
+        List<Recommendation> current = recommendationsFor(candidate.candidateId());
+        for (Recommendation recommendation : current) {
+            if (dropped.contains(recommendation.jobId())) {
+                //the job may now rank lower than jobs that were cut off, only a full re-rank is exact
+                rank(candidate);
+                return;
+            }
+        }
+        List<Recommendation> merged = null;
+        for (JobVector job : added) {
+            double score = RecommendationScorer.score(candidate, job);
+            if (score <= 0) continue;
+            if (merged == null) merged = new ArrayList<>(current);
+            merged.add(new Recommendation(job.jobId(), score));
+        }
+        if (merged != null) store(candidate.candidateId(), merged);
+    }
+
+    private void forEachCandidate(Consumer<CandidateVector> action) {
+        forEachCandidate(candidates.values().toArray(CandidateVector[]::new), action);
+    }
+
+    //runs the action for the given candidates, sharded over the fork/join pool
+    private void forEachCandidate(CandidateVector[] shard, Consumer<CandidateVector> action) {
+        if (shard.length == 0) return;
+        pool.invoke(new ShardTask(shard, 0, shard.length, action));
+    }
+
+    private CandidateVector[] candidatesWith(Set<String> skills) {
+        Set<Long> ids = new HashSet<>();
+        for (String skill : skills) {
+            ids.addAll(candidatesBySkill.getOrDefault(skill, Set.of()));
+        }
+        return ids.stream().map(candidates::get).toArray(CandidateVector[]::new);
+    }
+
+    private void index(CandidateVector candidate) {
+        for (String skill : candidate.skills()) {
+            candidatesBySkill.computeIfAbsent(skill, s -> new HashSet<>()).add(candidate.candidateId());
+        }
+    }
+
+    private void unindex(CandidateVector candidate) {
+        for (String skill : candidate.skills()) {
+            Set<Long> ids = candidatesBySkill.get(skill);
+            if (ids != null && ids.remove(candidate.candidateId()) && ids.isEmpty()) candidatesBySkill.remove(skill);
+        }
+    }
+
+    //full re-rank of one candidate against all active jobs, keeps the best topN in a min-heap
+    private void rank(CandidateVector candidate) {
+        PriorityQueue<Recommendation> best = new PriorityQueue<>(topN + 1, BEST_FIRST.reversed());
+        for (JobVector job : jobs.values()) {
+            double score = RecommendationScorer.score(candidate, job);
+            if (score <= 0) continue;
+            best.offer(new Recommendation(job.jobId(), score));
+            if (best.size() > topN) best.poll();
+        }
+        store(candidate.candidateId(), new ArrayList<>(best));
+    }
+
+    private void store(Long candidateId, List<Recommendation> list) {
+        list.sort(BEST_FIRST);
+        if (list.size() > topN) list = list.subList(0, topN);
+        if (list.isEmpty()) recommendations.remove(candidateId);
+        else recommendations.put(candidateId, List.copyOf(list));
+    }
+
+    private void loadCandidates() {
+        candidates.clear();
+        candidatesBySkill.clear();
+        long lastId = 0;
+        while (true) {
+            final long afterId = lastId;
+            List<CandidateVector> chunk = readOnlyTx.execute(status ->
+                    candidateRepo.findCandidatesAfter(afterId, PageRequest.of(0, chunkSize)).stream()
+                            .map(CandidateVector::from)
+                            .toList());
+            if (chunk == null || chunk.isEmpty()) return;
+            for (CandidateVector candidate : chunk) {
+                candidates.put(candidate.candidateId(), candidate);
+                index(candidate);
+            }
+            lastId = chunk.getLast().candidateId();
+            if (chunk.size() < chunkSize) return;
+        }
+    }
+
+    private final class ShardTask extends RecursiveAction {
+
+        private final CandidateVector[] shard;
+        private final int from;
+        private final int to;
+        private final Consumer<CandidateVector> action;
+
+        private ShardTask(CandidateVector[] shard, int from, int to, Consumer<CandidateVector> action) {
+            this.shard = shard;
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= shardSize) {
+                for (int i = from; i < to; i++) action.accept(shard[i]);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ShardTask(shard, from, middle, action), new ShardTask(shard, middle, to, action));
+        }
+    }
+}
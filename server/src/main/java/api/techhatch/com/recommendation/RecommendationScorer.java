@@ -0,0 +1,73 @@
+package api.techhatch.com.recommendation;
+
+import api.techhatch.com.model.Job;
+import api.techhatch.com.search.JobDocument;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Scores how well a job fits a candidate, in [0, 1].
+ * Skill coverage dominates, experience and location refine the order. A job sharing no skill with the candidate
+ * scores 0 and is never recommended.
+ */
+public final class RecommendationScorer {
+
+    private static final double SKILL_WEIGHT = 0.6;
+    private static final double EXPERIENCE_WEIGHT = 0.25;
+    private static final double LOCATION_WEIGHT = 0.15;
+
+    private RecommendationScorer() {
+    }
+
+    /**
+     * Job side of the score, precomputed once per job
+     */
+    public record JobVector(JobDocument document, Set<String> skills, String location) {
+
+        public static JobVector from(JobDocument document) {
+            String location = document.location() != null ? document.location().toLowerCase(Locale.ROOT) : null;
+            return new JobVector(document, document.skillKeys(), location);
+        }
+
+        public Long jobId() {
+            return document.id();
+        }
+    }
+
+    public static double score(CandidateVector candidate, JobVector job) {
+        if (candidate.skills().isEmpty() || job.skills().isEmpty()) return 0;
+
+        int matched = 0;
+        for (String skill : job.skills()) {
+            if (candidate.skills().contains(skill)) matched++;
+        }
+        if (matched == 0) return 0;
+
+        double skillScore = (double) matched / job.skills().size();
+        return SKILL_WEIGHT * skillScore
+                + EXPERIENCE_WEIGHT * experienceScore(candidate.experienceYears(), job.document().experienceLevel())
+                + LOCATION_WEIGHT * locationScore(candidate.location(), job);
+    }
+
+    //1 for the matching level, 0.5 one level off, unknown experience counts as half a match
+    private static double experienceScore(Integer years, Job.ExperienceLevel level) {
+        if (years == null || level == null) return 0.5;
+        int distance = Math.abs(levelOf(years).ordinal() - level.ordinal());
+        return distance == 0 ? 1 : distance == 1 ? 0.5 : 0;
+    }
+
+    private static Job.ExperienceLevel levelOf(int years) {
+        if (years < 1) return Job.ExperienceLevel.ENTRY;
+        if (years < 3) return Job.ExperienceLevel.JUNIOR;
+        if (years < 6) return Job.ExperienceLevel.MID;
+        if (years < 10) return Job.ExperienceLevel.SENIOR;
+        return Job.ExperienceLevel.LEAD;
+    }
+
+    private static double locationScore(String candidateLocation, JobVector job) {
+        if (job.document().workMode() == Job.WorkMode.REMOTE) return 1;
+        if (candidateLocation == null || job.location() == null) return 0;
+        return job.location().contains(candidateLocation) || candidateLocation.contains(job.location()) ? 1 : 0;
+    }
+}
@@ -0,0 +1,80 @@
+package api.techhatch.com.repository;
+
+import api.techhatch.com.model.ArchivedJobApplication;
+import api.techhatch.com.model.JobApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedJobApplicationRepo extends JpaRepository<ArchivedJobApplication, Long> {
+
+    //Copies the applications of the given jobs into applications_archive with their ids, used by JobArchiver
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO applications_archive (id, job_id, candidate_id, status, cover_letter, recruiter_notes,
+                                              applied_date, last_updated)
+            SELECT id, job_id, candidate_id, status, cover_letter, recruiter_notes, applied_date, last_updated
+            FROM applications WHERE job_id IN :jobIds
+            """)
+    int copyFromApplications(@Param("jobIds") Collection<Long> jobIds);
+
+    //Archived applications with their job and company in one query, callers restore the listing order
+    @Query(value = """
+            SELECT a FROM ArchivedJobApplication a JOIN FETCH a.job j JOIN FETCH j.recruiterProfile
+            WHERE a.id IN :ids
+            """)
+    List<ArchivedJobApplication> findWithJobByIdIn(@Param("ids") Collection<Long> ids);
+
+    //Recruiter listing of an archived job, same filters as JobApplicationRepo.findJobApplications
+    @EntityGraph(attributePaths = {"job", "candidateProfile.user"})
+    @Query(value = """
+            FROM ArchivedJobApplication a WHERE
+            a.job.id = :jobId
+            AND (:statusFilter IS NULL OR a.status = :statusFilter)
+            """)
+    Page<ArchivedJobApplication> findJobApplications(@Param("jobId") Long jobId,
+                                                     @Param("statusFilter") JobApplication.Status statusFilter,
+                                                     Pageable pageable);
+
+    //Keyset variant: seek past (cursorDate, cursorId) newest first, pass PageRequest.of(0, limit)
+    @EntityGraph(attributePaths = {"job", "candidateProfile.user"})
+    @Query(value = """
+            FROM ArchivedJobApplication a WHERE
+            a.job.id = :jobId
+            AND (:statusFilter IS NULL OR a.status = :statusFilter)
+            AND (:cursorDate IS NULL OR a.appliedDate < :cursorDate
+                OR (a.appliedDate = :cursorDate AND a.id < :cursorId))
+            ORDER BY a.appliedDate DESC, a.id DESC
+            """)
+    List<ArchivedJobApplication> findJobApplicationsAfter(@Param("jobId") Long jobId,
+                                                          @Param("statusFilter") JobApplication.Status statusFilter,
+                                                          @Param("cursorDate") LocalDateTime cursorDate,
+                                                          @Param("cursorId") Long cursorId,
+                                                          Pageable limit);
+
+    @Query(value = """
+            SELECT COUNT(a) FROM ArchivedJobApplication a WHERE
+            a.job.id = :jobId
+            AND (:statusFilter IS NULL OR a.status = :statusFilter)
+            """)
+    long countJobApplications(@Param("jobId") Long jobId,
+                              @Param("statusFilter") JobApplication.Status statusFilter);
+
+    @Query(value = """
+            SELECT COUNT(a) FROM ArchivedJobApplication a WHERE
+            a.candidateProfile.id = :candidateId
+            AND (:statusFilter IS NULL OR a.status = :statusFilter)
+            """)
+    long countCandidateApplications(@Param("candidateId") Long candidateId,
+                                    @Param("statusFilter") JobApplication.Status statusFilter);
+}
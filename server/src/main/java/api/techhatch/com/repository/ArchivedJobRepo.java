@@ -0,0 +1,32 @@
+package api.techhatch.com.repository;
+
+import api.techhatch.com.model.ArchivedJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface ArchivedJobRepo extends JpaRepository<ArchivedJob, Long> {
+
+    //Copies the given jobs into jobs_archive with their ids, used by JobArchiver before deleting them from jobs
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO jobs_archive (id, recruiter_id, title, description, requirements, responsibilities, location,
+                                      latitude, longitude, job_type, work_mode, experience_level, salary_min, salary_max,
+                                      currency, required_skills, status, posted_date, expiry_date, view_count,
+                                      application_count, created_at, updated_at, archived_at)
+            SELECT id, recruiter_id, title, description, requirements, responsibilities, location,
+                   latitude, longitude, job_type, work_mode, experience_level, salary_min, salary_max,
+                   currency, required_skills, status, posted_date, expiry_date, view_count,
+                   application_count, created_at, updated_at, :now
+            FROM jobs WHERE id IN :ids
+            """)
+    int copyFromJobs(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    long countByRecruiterProfileId(Long recruiterId);
+}
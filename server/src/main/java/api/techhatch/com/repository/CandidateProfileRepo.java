@@ -1,17 +1,31 @@
 package api.techhatch.com.repository;
 
 import api.techhatch.com.model.CandidateProfile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CandidateProfileRepo extends JpaRepository<CandidateProfile, Long> {
+public interface CandidateProfileRepo extends JpaRepository<CandidateProfile, Long>, CandidateProfileRepoCustom {
 
     Optional<CandidateProfile> findByUserId(Long userId);
 
-    Optional<CandidateProfile> findByUserEmail(String email);
-
     boolean existsByUserId(Long userId);
+
+    //Keyset scan used to load candidates into the recommendation engine
+    @Query("SELECT c FROM CandidateProfile c WHERE c.id > :afterId ORDER BY c.id")
+    List<CandidateProfile> findCandidatesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    //Keyset scan over candidates with skills but no skill postings, used by SkillPostingBackfill
+    @Query("""
+            SELECT c FROM CandidateProfile c
+            WHERE c.skills IS NOT NULL AND c.skillPostings IS EMPTY AND c.id > :afterId
+            ORDER BY c.id
+            """)
+    List<CandidateProfile> findWithoutSkillPostingsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
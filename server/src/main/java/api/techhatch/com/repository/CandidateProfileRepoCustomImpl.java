@@ -0,0 +1,25 @@
+package api.techhatch.com.repository;
+
+import api.techhatch.com.model.CandidateProfile;
+import api.techhatch.com.model.Users;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+class CandidateProfileRepoCustomImpl implements CandidateProfileRepoCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CandidateProfile> findByUserEmail(String email) {
+        Session session = entityManager.unwrap(Session.class);
+        return session.bySimpleNaturalId(Users.class)
+                .loadOptional(email)
+                .flatMap(user -> session.bySimpleNaturalId(CandidateProfile.class).loadOptional(user));
+    }
+}
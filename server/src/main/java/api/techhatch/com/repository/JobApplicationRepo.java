@@ -3,28 +3,32 @@ package api.techhatch.com.repository;
 import api.techhatch.com.model.JobApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface JobApplicationRepo extends JpaRepository<JobApplication, Long> {
 
-    boolean existsByJobIdAndCandidateProfileId(Long id, Long id1);
-
-
-    //For candidates to find all applied jobs
-    @Query(value = """
-                    FROM JobApplication a WHERE
-                    a.candidateProfile.id = :candidateId
-                    AND (:statusFilter IS NULL OR a.status = :statusFilter)
-                    """
-    )
-    Page<JobApplication> findCandidateApplications(@Param("candidateId") Long candidateId,
-                                                   @Param("statusFilter") JobApplication.Status statusFilter,
-                                                   Pageable pageable);
+    //filters of the candidate listings spanning applications and applications_archive, both aliased as a
+    String CANDIDATE_ROWS = """
+                WHERE a.candidate_id = :candidateId
+                AND (:statusFilter IS NULL OR a.status = :statusFilter)
+            """;
+    String AFTER_CURSOR = """
+                AND (:cursorDate IS NULL OR a.applied_date < :cursorDate
+                    OR (a.applied_date = :cursorDate AND a.id < :cursorId))
+            """;
 
+    @EntityGraph(JobApplication.RECRUITER_VIEW)
     @Query(value = """
             FROM JobApplication a WHERE
             a.job.id = :jobId
@@ -33,4 +37,94 @@ public interface JobApplicationRepo extends JpaRepository<JobApplication, Long>
     Page<JobApplication> findJobApplications(@Param("jobId") Long jobId,
                                              @Param("statusFilter")JobApplication.Status statusFilter,
                                              Pageable pageable);
+
+    //Keyset variant: seek past (cursorDate, cursorId) newest first, pass PageRequest.of(0, limit)
+    @EntityGraph(JobApplication.RECRUITER_VIEW)
+    @Query(value = """
+            FROM JobApplication a WHERE
+            a.job.id = :jobId
+            AND (:statusFilter IS NULL OR a.status = :statusFilter)
+            AND (:cursorDate IS NULL OR a.appliedDate < :cursorDate
+                OR (a.appliedDate = :cursorDate AND a.id < :cursorId))
+            ORDER BY a.appliedDate DESC, a.id DESC
+            """)
+    List<JobApplication> findJobApplicationsAfter(@Param("jobId") Long jobId,
+                                                  @Param("statusFilter") JobApplication.Status statusFilter,
+                                                  @Param("cursorDate") LocalDateTime cursorDate,
+                                                  @Param("cursorId") Long cursorId,
+                                                  Pageable limit);
+
+    @Query(value = """
+            SELECT COUNT(a) FROM JobApplication a WHERE
+            a.candidateProfile.id = :candidateId
+            AND (:statusFilter IS NULL OR a.status = :statusFilter)
+            """)
+    long countCandidateApplications(@Param("candidateId") Long candidateId,
+                                    @Param("statusFilter") JobApplication.Status statusFilter);
+
+    @Query(value = """
+            SELECT COUNT(a) FROM JobApplication a WHERE
+            a.job.id = :jobId
+            AND (:statusFilter IS NULL OR a.status = :statusFilter)
+            """)
+    long countJobApplications(@Param("jobId") Long jobId,
+                              @Param("statusFilter") JobApplication.Status statusFilter);
+
+    //Candidate's applications including the archived ones, newest first. Archived rows keep their id, so the ids
+    //are unique across both tables. Returns ids only, load them with findWithJobByIdIn and
+    //ArchivedJobApplicationRepo.findWithJobByIdIn. Pass an unsorted pageable
+    @Query(nativeQuery = true,
+            value = """
+            SELECT u.id FROM (
+                SELECT a.id, a.applied_date FROM applications a
+            """ + CANDIDATE_ROWS + """
+                UNION ALL
+                SELECT a.id, a.applied_date FROM applications_archive a
+            """ + CANDIDATE_ROWS + """
+            ) u
+            ORDER BY u.applied_date DESC, u.id DESC
+            """,
+            countQuery = """
+            SELECT (SELECT COUNT(*) FROM applications a
+            """ + CANDIDATE_ROWS + """
+            ) + (SELECT COUNT(*) FROM applications_archive a
+            """ + CANDIDATE_ROWS + """
+            )
+            """)
+    Page<Long> findCandidateApplicationIds(@Param("candidateId") Long candidateId,
+                                           @Param("statusFilter") String statusFilter,
+                                           Pageable pageable);
+
+    //Keyset variant of findCandidateApplicationIds, pass PageRequest.of(0, limit)
+    @Query(nativeQuery = true,
+            value = """
+            SELECT u.id FROM (
+                SELECT a.id, a.applied_date FROM applications a
+            """ + CANDIDATE_ROWS + AFTER_CURSOR + """
+                UNION ALL
+                SELECT a.id, a.applied_date FROM applications_archive a
+            """ + CANDIDATE_ROWS + AFTER_CURSOR + """
+            ) u
+            ORDER BY u.applied_date DESC, u.id DESC
+            """)
+    List<Long> findCandidateApplicationIdsAfter(@Param("candidateId") Long candidateId,
+                                                @Param("statusFilter") String statusFilter,
+                                                @Param("cursorDate") LocalDateTime cursorDate,
+                                                @Param("cursorId") Long cursorId,
+                                                Pageable limit);
+
+    //Single application with both sides, for the detail and status update views
+    @EntityGraph(attributePaths = {"job.recruiterProfile", "candidateProfile.user"})
+    @Query(value = "FROM JobApplication a WHERE a.id = :id")
+    Optional<JobApplication> findDetailedById(@Param("id") Long id);
+
+    //Candidate listing rows with their job and company in one query, callers restore the listing order
+    @EntityGraph(JobApplication.CANDIDATE_VIEW)
+    @Query(value = "FROM JobApplication a WHERE a.id IN :ids")
+    List<JobApplication> findWithJobByIdIn(@Param("ids") Collection<Long> ids);
+
+    //Used by JobArchiver once the applications are copied to applications_archive
+    @Modifying
+    @Query(value = "DELETE FROM JobApplication a WHERE a.job.id IN :jobIds")
+    int deleteByJobIds(@Param("jobIds") Collection<Long> jobIds);
 }
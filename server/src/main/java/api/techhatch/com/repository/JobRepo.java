@@ -1,25 +1,79 @@
 package api.techhatch.com.repository;
 
+import api.techhatch.com.geo.GeoCircle;
 import api.techhatch.com.model.Job;
+import api.techhatch.com.repository.projection.JobSummaryView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface JobRepo extends JpaRepository<Job, Long> {
 
+    //radius filter of the search queries: range scan of idx_jobs_geo on the bounding box, then the same
+    //equirectangular distance check as GeoCircle.contains. Column and field names are equal, so it fits JPQL and native
+    String WITHIN_RADIUS = """
+                        AND (:#{#near?.latitude()} IS NULL OR (
+                            j.latitude BETWEEN :#{#near?.minLat()} AND :#{#near?.maxLat()}
+                            AND j.longitude BETWEEN :#{#near?.minLon()} AND :#{#near?.maxLon()}
+                            AND (j.latitude - :#{#near?.latitude()}) * (j.latitude - :#{#near?.latitude()})
+                                + (j.longitude - :#{#near?.longitude()}) * (j.longitude - :#{#near?.longitude()}) * :#{#near?.lonScaleSquared()}
+                                <= :#{#near?.radiusDegreesSquared()}))
+            """;
+    //keyset filter of the recruiter listings spanning jobs and jobs_archive, both aliased as j
+    String JOB_AFTER_CURSOR = """
+                AND (:cursorDate IS NULL OR j.posted_date < :cursorDate
+                    OR (j.posted_date = :cursorDate AND j.id < :cursorId))
+            """;
+
     Page<Job> findByJobStatus(Job.JobStatus status, Pageable pageable);
 
-    Page<Job> findByRecruiterProfileId(Long recruiterId, Pageable pageable);
+    //Keyset variant of searchJobs: seeks past (cursorDate, cursorId) instead of skipping rows, pass PageRequest.of(0, limit)
+    @Query(value = JobSummaryView.SELECT + """
+            FROM Job j JOIN j.recruiterProfile r WHERE
+                        j.jobStatus ='ACTIVE'
+                        AND (:keyword IS NULL OR LOWER(j.title) LIKE LOWER(CONCAT('%', :keyword, '%'))
+                            OR LOWER(j.description) LIKE LOWER(CONCAT('%', :keyword, '%')))
+                        AND (:location IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%')))
+                        AND (:jobType IS NULL OR j.jobType = :jobType)
+                        AND (:experienceLevel IS NULL OR j.experienceLevel = :experienceLevel)
+                        AND (:minSalary IS NULL OR j.salaryMax >= :minSalary)
+                        AND (:maxSalary IS NULL OR j.salaryMin <= :maxSalary)
+                        AND (:fromDate IS NULL OR j.postedDate >= :fromDate)
+                        AND (:toDate IS NULL OR j.postedDate <= :toDate)
+                        AND (:skillId IS NULL OR EXISTS (SELECT 1 FROM j.skillPostings s WHERE s.id = :skillId))
+            """ + WITHIN_RADIUS + """
+                        AND (:cursorDate IS NULL OR j.postedDate < :cursorDate
+                            OR (j.postedDate = :cursorDate AND j.id < :cursorId))
+            ORDER BY j.postedDate DESC, j.id DESC
+            """)
+    List<JobSummaryView> searchJobsAfter(
+            @Param("keyword") String keyword,
+            @Param("location") String location,
+            @Param("jobType") Job.JobType jobType,
+            @Param("experienceLevel") Job.ExperienceLevel experienceLevel,
+            @Param("minSalary") BigDecimal minSalary,
+            @Param("maxSalary") BigDecimal maxSalary,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("skillId") Long skillId,
+            @Param("near") GeoCircle near,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable limit
+    );
 
     @Query(value = """
-            Select j FROM Job j WHERE
+            Select COUNT(j) FROM Job j WHERE
                         j.jobStatus ='ACTIVE'
                         AND (:keyword IS NULL OR LOWER(j.title) LIKE LOWER(CONCAT('%', :keyword, '%'))
                             OR LOWER(j.description) LIKE LOWER(CONCAT('%', :keyword, '%')))
@@ -30,8 +84,144 @@ public interface JobRepo extends JpaRepository<Job, Long> {
                         AND (:maxSalary IS NULL OR j.salaryMin <= :maxSalary)
                         AND (:fromDate IS NULL OR j.postedDate >= :fromDate)
                         AND (:toDate IS NULL OR j.postedDate <= :toDate)
+                        AND (:skillId IS NULL OR EXISTS (SELECT 1 FROM j.skillPostings s WHERE s.id = :skillId))
+            """ + WITHIN_RADIUS)
+    long countSearchJobs(
+            @Param("keyword") String keyword,
+            @Param("location") String location,
+            @Param("jobType") Job.JobType jobType,
+            @Param("experienceLevel") Job.ExperienceLevel experienceLevel,
+            @Param("minSalary") BigDecimal minSalary,
+            @Param("maxSalary") BigDecimal maxSalary,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("skillId") Long skillId,
+            @Param("near") GeoCircle near
+    );
+
+    //Recruiter's jobs including the archived ones, newest first. Archived rows keep their id, so the ids are unique
+    //across both tables. Returns ids only, load them from both tables. Pass an unsorted pageable
+    @Query(nativeQuery = true,
+            value = """
+            SELECT u.id FROM (
+                SELECT j.id, j.posted_date FROM jobs j WHERE j.recruiter_id = :recruiterId
+                UNION ALL
+                SELECT j.id, j.posted_date FROM jobs_archive j WHERE j.recruiter_id = :recruiterId
+            ) u
+            ORDER BY u.posted_date DESC, u.id DESC
+            """,
+            countQuery = """
+            SELECT (SELECT COUNT(*) FROM jobs j WHERE j.recruiter_id = :recruiterId)
+                + (SELECT COUNT(*) FROM jobs_archive j WHERE j.recruiter_id = :recruiterId)
+            """)
+    Page<Long> findRecruiterJobIds(@Param("recruiterId") Long recruiterId, Pageable pageable);
+
+    //Keyset variant of findRecruiterJobIds, pass PageRequest.of(0, limit)
+    @Query(nativeQuery = true,
+            value = """
+            SELECT u.id FROM (
+                SELECT j.id, j.posted_date FROM jobs j WHERE j.recruiter_id = :recruiterId
+            """ + JOB_AFTER_CURSOR + """
+                UNION ALL
+                SELECT j.id, j.posted_date FROM jobs_archive j WHERE j.recruiter_id = :recruiterId
+            """ + JOB_AFTER_CURSOR + """
+            ) u
+            ORDER BY u.posted_date DESC, u.id DESC
+            """)
+    List<Long> findRecruiterJobIdsAfter(@Param("recruiterId") Long recruiterId,
+                                        @Param("cursorDate") LocalDateTime cursorDate,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable limit);
+
+    long countByRecruiterProfileId(Long recruiterId);
+
+    //Atomic increment for a new application, 0 when the job is not (or no longer) active.
+    //updated_at is kept, an application is not a change of the posting
+    @Modifying
+    @Query(value = """
+            UPDATE Job j SET j.applicationCount = COALESCE(j.applicationCount, 0) + 1, j.updatedAt = j.updatedAt
+            WHERE j.id = :jobId AND j.jobStatus = 'ACTIVE'
+            """)
+    int incrementApplicationCount(@Param("jobId") Long jobId);
+
+    //Active jobs past their expiry date, oldest first. Range scan of idx_status_expiry, used by JobExpirySweeper
+    @Query(value = """
+            SELECT j.id FROM Job j
+            WHERE j.jobStatus = 'ACTIVE' AND j.expiryDate <= :now
+            ORDER BY j.expiryDate, j.id
+            """)
+    List<Long> findDueForExpiry(@Param("now") LocalDateTime now, Pageable limit);
+
+    @Query(value = """
+            SELECT MIN(j.expiryDate) FROM Job j
+            WHERE j.jobStatus = 'ACTIVE' AND j.expiryDate <= :now
+            """)
+    LocalDateTime findOldestDueExpiry(@Param("now") LocalDateTime now);
+
+    //the status check skips jobs closed since they were selected
+    @Modifying
+    @Query(value = """
+            UPDATE Job j SET j.jobStatus = 'EXPIRED', j.updatedAt = :now
+            WHERE j.id IN :ids AND j.jobStatus = 'ACTIVE'
+            """)
+    int expireJobs(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    //Locks the oldest closed or expired jobs untouched since the cutoff, range scan of idx_status_updated.
+    //Used by JobArchiver, the lock keeps the jobs from changing until they are moved.
+    //A job whose applications were submitted or updated after the cutoff is still being worked on
+    @Query(nativeQuery = true, value = """
+            SELECT j.id FROM jobs j
+            WHERE j.status = :status AND j.updated_at < :cutoff
+            AND NOT EXISTS (SELECT 1 FROM applications a WHERE a.job_id = j.id
+                AND (a.applied_date >= :cutoff OR a.last_updated >= :cutoff))
+            ORDER BY j.updated_at, j.id
+            LIMIT :limit
+            FOR UPDATE
+            """)
+    List<Long> lockColdJobs(@Param("status") String status, @Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    //job_skills rows only serve the search filter, archived jobs drop them
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM job_skills WHERE job_id IN :ids")
+    int deleteSkillPostings(@Param("ids") Collection<Long> ids);
+
+    //Keyset scan used to stream active jobs into the in-memory search index
+    @Query(value = """
+            SELECT j FROM Job j JOIN FETCH j.recruiterProfile
+            WHERE j.jobStatus = 'ACTIVE' AND j.id > :afterId
+            ORDER BY j.id
             """)
-    Page<Job> searchJobs(
+    List<Job> findActiveJobsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(value = JobSummaryView.SELECT + """
+            FROM Job j JOIN j.recruiterProfile r WHERE
+                        j.jobStatus ='ACTIVE'
+                        AND (:keyword IS NULL OR LOWER(j.title) LIKE LOWER(CONCAT('%', :keyword, '%'))
+                            OR LOWER(j.description) LIKE LOWER(CONCAT('%', :keyword, '%')))
+                        AND (:location IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%')))
+                        AND (:jobType IS NULL OR j.jobType = :jobType)
+                        AND (:experienceLevel IS NULL OR j.experienceLevel = :experienceLevel)
+                        AND (:minSalary IS NULL OR j.salaryMax >= :minSalary)
+                        AND (:maxSalary IS NULL OR j.salaryMin <= :maxSalary)
+                        AND (:fromDate IS NULL OR j.postedDate >= :fromDate)
+                        AND (:toDate IS NULL OR j.postedDate <= :toDate)
+                        AND (:skillId IS NULL OR EXISTS (SELECT 1 FROM j.skillPostings s WHERE s.id = :skillId))
+            """ + WITHIN_RADIUS,
+            countQuery = """
+            Select COUNT(j) FROM Job j WHERE
+                        j.jobStatus ='ACTIVE'
+                        AND (:keyword IS NULL OR LOWER(j.title) LIKE LOWER(CONCAT('%', :keyword, '%'))
+                            OR LOWER(j.description) LIKE LOWER(CONCAT('%', :keyword, '%')))
+                        AND (:location IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%')))
+                        AND (:jobType IS NULL OR j.jobType = :jobType)
+                        AND (:experienceLevel IS NULL OR j.experienceLevel = :experienceLevel)
+                        AND (:minSalary IS NULL OR j.salaryMax >= :minSalary)
+                        AND (:maxSalary IS NULL OR j.salaryMin <= :maxSalary)
+                        AND (:fromDate IS NULL OR j.postedDate >= :fromDate)
+                        AND (:toDate IS NULL OR j.postedDate <= :toDate)
+                        AND (:skillId IS NULL OR EXISTS (SELECT 1 FROM j.skillPostings s WHERE s.id = :skillId))
+            """ + WITHIN_RADIUS)
+    Page<JobSummaryView> searchJobs(
             @Param("keyword") String keyword,
             @Param("location") String location,
             @Param("jobType") Job.JobType jobType,
@@ -40,6 +230,128 @@ public interface JobRepo extends JpaRepository<Job, Long> {
             @Param("maxSalary") BigDecimal maxSalary,
             @Param("fromDate") LocalDateTime fromDate,
             @Param("toDate") LocalDateTime toDate,
+            @Param("skillId") Long skillId,
+            @Param("near") GeoCircle near,
+            Pageable pageable
+    );
+
+    //Keyset scan over jobs whose location was never resolved to coordinates, used by JobGeocodingBackfill
+    @Query(value = """
+            SELECT j FROM Job j JOIN FETCH j.recruiterProfile
+            WHERE j.latitude IS NULL AND j.location IS NOT NULL AND j.id > :afterId
+            ORDER BY j.id
+            """)
+    List<Job> findUngeocodedAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    //Keyset scan over jobs with skills but no skill postings (posted before the dictionary), used by SkillPostingBackfill
+    @Query(value = """
+            SELECT j FROM Job j
+            WHERE j.requiredSkills IS NOT NULL AND j.skillPostings IS EMPTY AND j.id > :afterId
+            ORDER BY j.id
+            """)
+    List<Job> findWithoutSkillPostingsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    //Card columns of the given jobs in one joined query, callers restore the ranking order
+    @Query(value = JobSummaryView.SELECT + """
+            FROM Job j JOIN j.recruiterProfile r WHERE j.id IN :ids
+            """)
+    List<JobSummaryView> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    //FULLTEXT idx_search in natural language mode, sortBy is RELEVANCE or POSTED_DATE, pass an unsorted pageable.
+    //Returns the ranked ids of the page only, load the cards with findSummariesByIdIn
+    @Query(nativeQuery = true,
+            value = """
+            SELECT j.id
+            FROM jobs j WHERE
+                        j.status = 'ACTIVE'
+                        AND MATCH(j.title, j.description, j.requirements) AGAINST (:keyword IN NATURAL LANGUAGE MODE)
+                        AND (:location IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%')))
+                        AND (:jobType IS NULL OR j.job_type = :jobType)
+                        AND (:experienceLevel IS NULL OR j.experience_level = :experienceLevel)
+                        AND (:minSalary IS NULL OR j.salary_max >= :minSalary)
+                        AND (:maxSalary IS NULL OR j.salary_min <= :maxSalary)
+                        AND (:fromDate IS NULL OR j.posted_date >= :fromDate)
+                        AND (:toDate IS NULL OR j.posted_date <= :toDate)
+                        AND (:skillId IS NULL OR EXISTS (SELECT 1 FROM job_skills js WHERE js.job_id = j.id AND js.skill_id = :skillId))
+            """ + WITHIN_RADIUS + """
+            ORDER BY CASE WHEN :sortBy = 'RELEVANCE' THEN MATCH(j.title, j.description, j.requirements) AGAINST (:keyword IN NATURAL LANGUAGE MODE) END DESC,
+                        j.posted_date DESC, j.id DESC
+            """,
+            countQuery = """
+            SELECT COUNT(*)
+            FROM jobs j WHERE
+                        j.status = 'ACTIVE'
+                        AND MATCH(j.title, j.description, j.requirements) AGAINST (:keyword IN NATURAL LANGUAGE MODE)
+                        AND (:location IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%')))
+                        AND (:jobType IS NULL OR j.job_type = :jobType)
+                        AND (:experienceLevel IS NULL OR j.experience_level = :experienceLevel)
+                        AND (:minSalary IS NULL OR j.salary_max >= :minSalary)
+                        AND (:maxSalary IS NULL OR j.salary_min <= :maxSalary)
+                        AND (:fromDate IS NULL OR j.posted_date >= :fromDate)
+                        AND (:toDate IS NULL OR j.posted_date <= :toDate)
+                        AND (:skillId IS NULL OR EXISTS (SELECT 1 FROM job_skills js WHERE js.job_id = j.id AND js.skill_id = :skillId))
+            """ + WITHIN_RADIUS)
+    Page<Long> searchJobsNaturalLanguage(
+            @Param("keyword") String keyword,
+            @Param("location") String location,
+            @Param("jobType") String jobType,
+            @Param("experienceLevel") String experienceLevel,
+            @Param("minSalary") BigDecimal minSalary,
+            @Param("maxSalary") BigDecimal maxSalary,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("skillId") Long skillId,
+            @Param("near") GeoCircle near,
+            @Param("sortBy") String sortBy,
+            Pageable pageable
+    );
+
+    //FULLTEXT idx_search in boolean mode (+java -php spring*), sortBy is RELEVANCE or POSTED_DATE, pass an unsorted pageable.
+    //Returns the ranked ids of the page only, load the cards with findSummariesByIdIn
+    @Query(nativeQuery = true,
+            value = """
+            SELECT j.id
+            FROM jobs j WHERE
+                        j.status = 'ACTIVE'
+                        AND MATCH(j.title, j.description, j.requirements) AGAINST (:keyword IN BOOLEAN MODE)
+                        AND (:location IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%')))
+                        AND (:jobType IS NULL OR j.job_type = :jobType)
+                        AND (:experienceLevel IS NULL OR j.experience_level = :experienceLevel)
+                        AND (:minSalary IS NULL OR j.salary_max >= :minSalary)
+                        AND (:maxSalary IS NULL OR j.salary_min <= :maxSalary)
+                        AND (:fromDate IS NULL OR j.posted_date >= :fromDate)
+                        AND (:toDate IS NULL OR j.posted_date <= :toDate)
+                        AND (:skillId IS NULL OR EXISTS (SELECT 1 FROM job_skills js WHERE js.job_id = j.id AND js.skill_id = :skillId))
+            """ + WITHIN_RADIUS + """
+            ORDER BY CASE WHEN :sortBy = 'RELEVANCE' THEN MATCH(j.title, j.description, j.requirements) AGAINST (:keyword IN BOOLEAN MODE) END DESC,
+                        j.posted_date DESC, j.id DESC
+            """,
+            countQuery = """
+            SELECT COUNT(*)
+            FROM jobs j WHERE
+                        j.status = 'ACTIVE'
+                        AND MATCH(j.title, j.description, j.requirements) AGAINST (:keyword IN BOOLEAN MODE)
+                        AND (:location IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%')))
+                        AND (:jobType IS NULL OR j.job_type = :jobType)
+                        AND (:experienceLevel IS NULL OR j.experience_level = :experienceLevel)
+                        AND (:minSalary IS NULL OR j.salary_max >= :minSalary)
+                        AND (:maxSalary IS NULL OR j.salary_min <= :maxSalary)
+                        AND (:fromDate IS NULL OR j.posted_date >= :fromDate)
+                        AND (:toDate IS NULL OR j.posted_date <= :toDate)
+                        AND (:skillId IS NULL OR EXISTS (SELECT 1 FROM job_skills js WHERE js.job_id = j.id AND js.skill_id = :skillId))
+            """ + WITHIN_RADIUS)
+    Page<Long> searchJobsBooleanMode(
+            @Param("keyword") String keyword,
+            @Param("location") String location,
+            @Param("jobType") String jobType,
+            @Param("experienceLevel") String experienceLevel,
+            @Param("minSalary") BigDecimal minSalary,
+            @Param("maxSalary") BigDecimal maxSalary,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("skillId") Long skillId,
+            @Param("near") GeoCircle near,
+            @Param("sortBy") String sortBy,
             Pageable pageable
     );
 
@@ -6,11 +6,9 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
-public interface RecruiterProfileRepo extends JpaRepository<RecruiterProfile, Long> {
+public interface RecruiterProfileRepo extends JpaRepository<RecruiterProfile, Long>, RecruiterProfileRepoCustom {
 
     Optional<RecruiterProfile> findByUserId(Long userId);
 
-    Optional<RecruiterProfile> findByUserEmail(String email);
-
     boolean existsByUserId(Long userId);
 }
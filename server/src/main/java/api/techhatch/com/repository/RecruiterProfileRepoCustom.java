@@ -0,0 +1,11 @@
+package api.techhatch.com.repository;
+
+import api.techhatch.com.model.RecruiterProfile;
+
+import java.util.Optional;
+
+public interface RecruiterProfileRepoCustom {
+
+    //Resolves user and profile through their natural ids, served from the second-level cache once loaded
+    Optional<RecruiterProfile> findByUserEmail(String email);
+}
@@ -0,0 +1,31 @@
+package api.techhatch.com.repository;
+
+import api.techhatch.com.model.Skill;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SkillRepo extends JpaRepository<Skill, Long> {
+
+    Optional<Skill> findByNormalizedName(String normalizedName);
+
+    //locking read, so rows committed by concurrent inserts after this transaction's snapshot are seen as well
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT s FROM Skill s WHERE s.normalizedName IN :normalizedNames")
+    List<Skill> findLatestByNormalizedNameIn(@Param("normalizedNames") Collection<String> normalizedNames);
+
+    //concurrent inserts of the same new skill both succeed, the unique key keeps a single row
+    @Modifying
+    @Query(nativeQuery = true,
+            value = "INSERT IGNORE INTO skills (name, normalized_name) VALUES (:name, :normalizedName)")
+    void insertIfAbsent(@Param("name") String name, @Param("normalizedName") String normalizedName);
+}
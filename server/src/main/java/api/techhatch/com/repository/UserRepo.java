@@ -2,12 +2,16 @@ package api.techhatch.com.repository;
 
 import api.techhatch.com.model.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface UserRepo extends JpaRepository<Users, Long> {
-    Optional<Users> findUserByEmail(String email);
+public interface UserRepo extends JpaRepository<Users, Long>, UserRepoCustom {
     Boolean existsByEmail(String email);
+
+    @Query("SELECT u.accountStatus FROM Users u WHERE u.id = :id")
+    Optional<Users.AccountStatus> findAccountStatusById(@Param("id") long id);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package api.techhatch.com.repository;
+
+import api.techhatch.com.model.Users;
+
+import java.util.Optional;
+
+public interface UserRepoCustom {
+
+    //Natural id lookup, served from the second-level cache once the user was loaded
+    Optional<Users> findUserByEmail(String email);
+}
@@ -0,0 +1,23 @@
+package api.techhatch.com.repository;
+
+import api.techhatch.com.model.Users;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+class UserRepoCustomImpl implements UserRepoCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Users> findUserByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Users.class)
+                .loadOptional(email);
+    }
+}
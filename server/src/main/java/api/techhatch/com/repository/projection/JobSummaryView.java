@@ -0,0 +1,39 @@
+package api.techhatch.com.repository.projection;
+
+import api.techhatch.com.model.Job;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Constructor projection for job listings: card columns plus the company joined in the same query,
+ * the TEXT columns (description, requirements, responsibilities) are never selected
+ */
+public record JobSummaryView(
+        Long id,
+        String title,
+        String location,
+        Job.JobType jobType,
+        Job.WorkMode workMode,
+        Job.ExperienceLevel experienceLevel,
+        BigDecimal salaryMin,
+        BigDecimal salaryMax,
+        String currency,
+        List<String> requiredSkills,
+        Job.JobStatus status,
+        LocalDateTime postedDate,
+        LocalDateTime expiryDate,
+        Long recruiterId,
+        String companyName,
+        String companyLogoUrl
+) {
+
+    //select list shared by every summary query, the job has to be aliased j and its recruiter r
+    public static final String SELECT = """
+            SELECT new api.techhatch.com.repository.projection.JobSummaryView(
+                j.id, j.title, j.location, j.jobType, j.workMode, j.experienceLevel,
+                j.salaryMin, j.salaryMax, j.currency, j.requiredSkills, j.jobStatus,
+                j.postedDate, j.expiryDate, r.id, r.companyName, r.companyLogoUrl)
+            """;
+}
@@ -0,0 +1,68 @@
+package api.techhatch.com.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter of strings. Bits are only ever set, so concurrent puts and lookups need no lock.
+ * The k probes are derived from one 64-bit hash split into two halves (Kirsch-Mitzenmacher double hashing).
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions number of keys at which falsePositiveRate is reached
+     * @param falsePositiveRate wanted share of absent keys reported as present
+     */
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int insertions = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * Math.log(2)));
+    }
+
+    void put(String key) {
+        long hash = hash(key);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = bitOf(hash, i);
+            words.accumulateAndGet((int) (bit >>> 6), 1L << bit, (word, mask) -> word | mask);
+        }
+    }
+
+    /**
+     * @return false when key was never put, true when it was put or on a false positive
+     */
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = bitOf(hash, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    //HELPER METHODS
+
+    private long bitOf(long hash, int probe) {
+        long combined = (int) hash + (long) probe * (int) (hash >>> 32);
+        return (combined & Long.MAX_VALUE) % bitCount;
+    }
+
+    //FNV-1a over the chars, finished with the murmur3 fmix64 so both halves are well mixed
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
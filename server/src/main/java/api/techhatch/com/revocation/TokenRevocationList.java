@@ -0,0 +1,170 @@
+package api.techhatch.com.revocation;
+
+import api.techhatch.com.model.RevokedToken;
+import api.techhatch.com.repository.RevokedTokenRepo;
+import api.techhatch.com.util.VerifiedToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Denylist of revoked token ids (jti). revoked_tokens is the source of truth, it is mirrored in memory as a Bloom
+ * filter with the exact set of unexpired revocations behind it: a token that was never revoked is rejected by the
+ * filter after a few bit reads, only filter hits consult the set. No check ever touches the database.
+ * Revocations of other instances are picked up every revocation.sync-interval. Entries are dropped once their
+ * token would have expired anyway, every revocation.purge-interval, which also rebuilds the filter.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    //revocations of other instances are read again for this long, in case their clocks run behind
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepo revokedTokenRepo;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+
+    //jti -> exp of revoked tokens that have not expired yet
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private int filterCapacity;
+    private LocalDateTime lastSync;
+
+    private final Counter revokedHits;
+    private final Counter falsePositives;
+
+    public TokenRevocationList(RevokedTokenRepo revokedTokenRepo,
+                               MeterRegistry meterRegistry,
+                               @Value("${revocation.bloom.expected-revocations:100000}") int expectedRevocations,
+                               @Value("${revocation.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepo = revokedTokenRepo;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filterCapacity = expectedRevocations;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.revokedHits = Counter.builder("auth.revocation.checks")
+                .description("Token checks that hit the Bloom filter")
+                .tag("result", "revoked")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("auth.revocation.checks")
+                .description("Token checks that hit the Bloom filter")
+                .tag("result", "false_positive")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.size", revoked, Map::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        sync();
+        log.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    /**
+     * @return true when the token was revoked. Tokens without a jti predate revocation and cannot be revoked
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        if (token.jti() == null || !filter.mightContain(token.jti())) return false;
+
+        boolean hit = revoked.containsKey(token.jti());
+        (hit ? revokedHits : falsePositives).increment();
+        return hit;
+    }
+
+    /**
+     * Persists the revocation and applies it to this instance once the surrounding transaction, if any, commits
+     */
+    public void revoke(VerifiedToken token) {
+        if (!token.expiresAt().isAfter(Instant.now()) || token.jti() == null) return;
+
+        revokedTokenRepo.save(RevokedToken.builder()
+                .jti(token.jti())
+                .userId(token.userId())
+                .expiresAt(LocalDateTime.ofInstant(token.expiresAt(), ZoneId.systemDefault()))
+                .revokedAt(LocalDateTime.now())
+                .build());
+        addAfterCommit(token.jti(), token.expiresAt());
+    }
+
+    @Scheduled(fixedDelayString = "${revocation.sync-interval:10s}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            List<RevokedToken> tokens = lastSync == null
+                    ? revokedTokenRepo.findByExpiresAtAfter(now)
+                    : revokedTokenRepo.findByRevokedAtAfterAndExpiresAtAfter(lastSync.minus(SYNC_OVERLAP), now);
+            for (RevokedToken token : tokens) {
+                add(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+            }
+            lastSync = now;
+        } catch (RuntimeException e) {
+            log.error("Revoked token sync failed, retrying next interval", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${revocation.purge-interval:10m}")
+    public void purge() {
+        Instant now = Instant.now();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        //a Bloom filter cannot forget keys, the expired ones are dropped by building it again
+        rebuild();
+        try {
+            revokedTokenRepo.deleteExpired(LocalDateTime.ofInstant(now, ZoneId.systemDefault()));
+        } catch (RuntimeException e) {
+            log.error("Purging expired revocations failed, retrying next interval", e);
+        }
+        if (before > revoked.size()) log.info("Purged {} expired revocations", before - revoked.size());
+    }
+
+    //HELPER METHODS
+
+    //a rolled back revocation must not reject the token here while every other instance accepts it
+    private void addAfterCommit(String jti, Instant expiresAt) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(jti, expiresAt);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(jti, expiresAt);
+            }
+        });
+    }
+
+    //writers are rare (logout, sync, purge), locking them keeps a rebuild from missing a concurrent add
+    private synchronized void add(String jti, Instant expiresAt) {
+        if (revoked.put(jti, expiresAt) != null) return;
+        if (revoked.size() > filterCapacity) {
+            rebuild();
+        } else {
+            filter.put(jti);
+        }
+    }
+
+    private synchronized void rebuild() {
+        int capacity = Math.max(expectedRevocations, revoked.size() * 2);
+        BloomFilter fresh = new BloomFilter(capacity, falsePositiveRate);
+        revoked.keySet().forEach(fresh::put);
+        filterCapacity = capacity;
+        filter = fresh;
+    }
+}
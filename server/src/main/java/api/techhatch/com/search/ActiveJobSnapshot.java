@@ -0,0 +1,193 @@
+package api.techhatch.com.search;
+
+import api.techhatch.com.geo.GeoGrid;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Immutable, columnar copy of the active jobs for structured (filter-only) searches.
+ * Rows are ordered newest first, so a scan yields results in the listing order. Enum ordinals are stored in byte
+ * columns, salaries in cents and posted dates in epoch seconds in long columns, either on the heap or in direct
+ * (off-heap) buffers. A published snapshot is never modified, readers need no locking.
+ * Radius filters start from a {@link GeoGrid} over the job coordinates and only visit the rows around the place.
+ */
+public final class ActiveJobSnapshot {
+
+    //salary columns use this for "not disclosed"
+    private static final long NO_SALARY = Long.MIN_VALUE;
+    //salary bounds of a query beyond what the cent columns can hold
+    private static final BigDecimal MAX_SALARY_BOUND = BigDecimal.valueOf(Long.MAX_VALUE).movePointLeft(2);
+    private static final BigDecimal MIN_SALARY_BOUND = BigDecimal.valueOf(NO_SALARY + 1).movePointLeft(2);
+    private static final byte NO_VALUE = -1;
+
+    private static final Comparator<JobDocument> NEWEST_FIRST = Comparator
+            .comparing(JobDocument::postedDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(JobDocument::id, Comparator.reverseOrder());
+
+    private static final ActiveJobSnapshot EMPTY = of(List.of(), false);
+
+    private final int size;
+    private final ByteBuffer jobTypes;
+    private final ByteBuffer experienceLevels;
+    private final LongBuffer salaryMins;
+    private final LongBuffer salaryMaxs;
+    private final LongBuffer postedDates;
+    //lowercase, for the substring location filter
+    private final String[] locations;
+    //normalized required skills
+    private final List<Set<String>> skills;
+    //row -> document, used to render the result cards
+    private final JobDocument[] documents;
+    private final GeoGrid geoGrid;
+
+    private ActiveJobSnapshot(int size, boolean offHeap, GeoGrid geoGrid) {
+        this.size = size;
+        this.geoGrid = geoGrid;
+        this.jobTypes = bytes(size, offHeap);
+        this.experienceLevels = bytes(size, offHeap);
+        this.salaryMins = longs(size, offHeap);
+        this.salaryMaxs = longs(size, offHeap);
+        this.postedDates = longs(size, offHeap);
+        this.locations = new String[size];
+        this.skills = new ArrayList<>(size);
+        this.documents = new JobDocument[size];
+    }
+
+    public static ActiveJobSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param jobs searchable jobs, copied into a new snapshot
+     * @param offHeap store the primitive columns in direct buffers
+     */
+    public static ActiveJobSnapshot of(Collection<JobDocument> jobs, boolean offHeap) {
+        List<JobDocument> rows = new ArrayList<>(jobs);
+        rows.sort(NEWEST_FIRST);
+
+        GeoGrid geoGrid = GeoGrid.of(
+                rows.stream().map(JobDocument::latitude).toArray(Double[]::new),
+                rows.stream().map(JobDocument::longitude).toArray(Double[]::new));
+        ActiveJobSnapshot snapshot = new ActiveJobSnapshot(rows.size(), offHeap, geoGrid);
+        for (int row = 0; row < rows.size(); row++) {
+            JobDocument doc = rows.get(row);
+            snapshot.jobTypes.put(row, ordinal(doc.jobType()));
+            snapshot.experienceLevels.put(row, ordinal(doc.experienceLevel()));
+            snapshot.salaryMins.put(row, cents(doc.salaryMin(), RoundingMode.HALF_UP));
+            snapshot.salaryMaxs.put(row, cents(doc.salaryMax(), RoundingMode.HALF_UP));
+            snapshot.postedDates.put(row, doc.postedDate() != null
+                    ? doc.postedDate().toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE);
+            snapshot.locations[row] = doc.location() != null ? doc.location().toLowerCase(Locale.ROOT) : null;
+            snapshot.skills.add(doc.skillKeys());
+            snapshot.documents[row] = doc;
+        }
+        return snapshot;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Evaluates the structured filters of the query (the keyword is ignored) with the same semantics as
+     * JobRepo.searchJobs, newest first
+     * @param page zero based page number
+     * @param pageSize page size
+     * @return documents of the requested page and the total match count
+     */
+    public FilterHits filter(JobSearchQuery query, int page, int pageSize) {
+        byte jobType = ordinal(query.jobType());
+        byte experienceLevel = ordinal(query.experienceLevel());
+        //round the bounds inwards so a bound with sub-cent digits does not widen the range
+        long minSalary = query.minSalary() != null ? boundCents(query.minSalary(), RoundingMode.CEILING) : NO_SALARY;
+        long maxSalary = query.maxSalary() != null ? boundCents(query.maxSalary(), RoundingMode.FLOOR) : NO_SALARY;
+        long from = query.fromDate() != null ? ceilSeconds(query.fromDate()) : Long.MIN_VALUE;
+        long to = query.toDate() != null ? query.toDate().toEpochSecond(ZoneOffset.UTC) : Long.MAX_VALUE;
+        String location = query.location() != null ? query.location().toLowerCase(Locale.ROOT) : null;
+
+        //a radius filter visits only the grid cells around the place, rows stay ascending so newest first
+        int[] nearRows = query.near() != null ? geoGrid.rowsWithin(query.near()) : null;
+        int candidates = nearRows != null ? nearRows.length : size;
+
+        //long, a huge page number must not overflow into a valid offset
+        long skip = (long) page * pageSize;
+        List<JobDocument> content = new ArrayList<>(pageSize);
+        long total = 0;
+        for (int i = 0; i < candidates; i++) {
+            int row = nearRows != null ? nearRows[i] : i;
+            long posted = postedDates.get(row);
+            //rows are newest first, nothing past the from date can match
+            if (posted < from) break;
+            if (posted > to) continue;
+            if (jobType != NO_VALUE && jobTypes.get(row) != jobType) continue;
+            if (experienceLevel != NO_VALUE && experienceLevels.get(row) != experienceLevel) continue;
+            if (minSalary != NO_SALARY) {
+                long salaryMax = salaryMaxs.get(row);
+                if (salaryMax == NO_SALARY || salaryMax < minSalary) continue;
+            }
+            if (maxSalary != NO_SALARY) {
+                long salaryMin = salaryMins.get(row);
+                if (salaryMin == NO_SALARY || salaryMin > maxSalary) continue;
+            }
+            if (location != null && (locations[row] == null || !locations[row].contains(location))) continue;
+            if (query.skill() != null && !skills.get(row).contains(query.skill())) continue;
+
+            if (total >= skip && content.size() < pageSize) {
+                content.add(documents[row]);
+            }
+            total++;
+        }
+        return new FilterHits(content, total);
+    }
+
+    //HELPER METHODS
+
+    private static byte ordinal(Enum<?> value) {
+        return value != null ? (byte) value.ordinal() : NO_VALUE;
+    }
+
+    private static long cents(BigDecimal amount, RoundingMode rounding) {
+        if (amount == null) return NO_SALARY;
+        return amount.movePointRight(2).setScale(0, rounding).longValueExact();
+    }
+
+    //bounds come straight from the request, out of range they clamp to match everything or nothing like in SQL,
+    //compared before scaling so a huge exponent is never expanded
+    private static long boundCents(BigDecimal amount, RoundingMode rounding) {
+        if (amount.compareTo(MAX_SALARY_BOUND) > 0) return Long.MAX_VALUE;
+        if (amount.compareTo(MIN_SALARY_BOUND) < 0) return NO_SALARY + 1;
+        return cents(amount, rounding);
+    }
+
+    private static long ceilSeconds(LocalDateTime dateTime) {
+        long seconds = dateTime.toEpochSecond(ZoneOffset.UTC);
+        return dateTime.getNano() > 0 ? seconds + 1 : seconds;
+    }
+
+    private static ByteBuffer bytes(int size, boolean offHeap) {
+        return offHeap ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+    }
+
+    private static LongBuffer longs(int size, boolean offHeap) {
+        return offHeap
+                ? ByteBuffer.allocateDirect(size * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer()
+                : LongBuffer.allocate(size);
+    }
+
+    /**
+     * One page of documents matching the filters plus the total match count
+     */
+    public record FilterHits(List<JobDocument> jobs, long totalHits) {
+    }
+}
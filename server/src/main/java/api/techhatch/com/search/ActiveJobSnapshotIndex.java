@@ -0,0 +1,151 @@
+package api.techhatch.com.search;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes {@link ActiveJobSnapshot}s of the active jobs.
+ * Readers use the current snapshot through a volatile read. Job changes only update the writer side map,
+ * new snapshots are built copy-on-write on a background thread and consecutive changes are coalesced into one
+ * build, so a bulk sweep publishes a handful of snapshots instead of one per job.
+ * During a rebuild the snapshot is published once at the end. Every publish is followed by a
+ * {@link SearchIndexUpdatedEvent}, so cached pages read from the previous snapshot are dropped.
+ */
+@Component
+public class ActiveJobSnapshotIndex implements JobIndexSink {
+
+    private final boolean enabled;
+    private final boolean offHeap;
+    private final ApplicationEventPublisher eventPublisher;
+
+    //writer side state, guarded by this
+    private final Map<Long, JobDocument> activeJobs = new HashMap<>();
+    private boolean rebuilding;
+
+    private volatile ActiveJobSnapshot snapshot = ActiveJobSnapshot.empty();
+    private volatile boolean ready;
+    private final ExecutorService publisher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("snapshot-publisher").daemon().factory());
+    private final AtomicBoolean publishPending = new AtomicBoolean();
+
+    public ActiveJobSnapshotIndex(@Value("${search.snapshot.enabled:true}") boolean enabled,
+                                  @Value("${search.snapshot.off-heap:false}") boolean offHeap,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.enabled = enabled;
+        this.offHeap = offHeap;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @return true once the startup rebuild has published the first snapshot
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * @return the latest published snapshot, safe to use without locking. Trails the latest changes until the
+     * background publisher has caught up
+     */
+    public ActiveJobSnapshot current() {
+        return snapshot;
+    }
+
+    @Override
+    public synchronized void upsert(JobDocument document) {
+        if (!enabled) return;
+        activeJobs.put(document.id(), document);
+        schedulePublish();
+    }
+
+    @Override
+    public synchronized void remove(Long jobId) {
+        if (!enabled) return;
+        if (activeJobs.remove(jobId) != null) schedulePublish();
+    }
+
+    @Override
+    public synchronized void apply(JobChangedEvent event) {
+        if (!enabled) return;
+        boolean changed = false;
+        for (JobDocument document : event.upserts()) {
+            activeJobs.put(document.id(), document);
+            changed = true;
+        }
+        for (Long jobId : event.removals()) {
+            changed |= activeJobs.remove(jobId) != null;
+        }
+        if (changed) schedulePublish();
+    }
+
+    @Override
+    public synchronized void beginRebuild() {
+        ready = false;
+        rebuilding = true;
+        activeJobs.clear();
+    }
+
+    //runs on the rebuild thread, which waits for the first snapshot so ready is only set once it is visible
+    @Override
+    public void endRebuild() {
+        synchronized (this) {
+            rebuilding = false;
+        }
+        try {
+            publisher.submit(this::publishCurrent).get();
+            ready = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not publish the job snapshot", e.getCause());
+        }
+    }
+
+    /**
+     * Waits until every change applied before the call is visible through {@link #current()}
+     */
+    void awaitPublished() throws InterruptedException {
+        try {
+            publisher.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        publisher.shutdownNow();
+    }
+
+    //HELPER METHODS
+
+    private void schedulePublish() {
+        if (rebuilding || !publishPending.compareAndSet(false, true)) return;
+        publisher.execute(() -> {
+            publishPending.set(false);
+            publishCurrent();
+        });
+    }
+
+    //publisher thread only, so snapshots are published in the order their jobs were copied
+    private void publishCurrent() {
+        List<JobDocument> jobs;
+        synchronized (this) {
+            //a rebuild that started after this publish was scheduled publishes by itself
+            if (rebuilding) return;
+            jobs = List.copyOf(activeJobs.values());
+        }
+        snapshot = ActiveJobSnapshot.of(jobs, offHeap);
+        eventPublisher.publishEvent(new SearchIndexUpdatedEvent());
+    }
+}
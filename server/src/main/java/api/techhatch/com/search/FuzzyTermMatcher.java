@@ -0,0 +1,165 @@
+package api.techhatch.com.search;
+
+import java.util.*;
+
+/**
+ * Typo tolerant lookup over the title and skill vocabulary of the index ("kubernates" -> "kubernetes").
+ * Candidates are terms sharing character trigrams with the query term, the best candidates are then verified with
+ * a bounded edit distance (adjacent transpositions count as one edit, "javascirpt" -> "javascript").
+ * Not thread safe, {@link JobSearchIndex} guards it with its own lock.
+ */
+class FuzzyTermMatcher {
+
+    //shorter terms have too many neighbours one edit away ("java" -> "lava", "jav")
+    private static final int MIN_TERM_LENGTH = 5;
+    private static final int LONG_TERM_LENGTH = 9;
+
+    //term -> number of jobs using it in their title or skills
+    private final Map<String, Integer> vocabulary = new HashMap<>();
+    private final Map<String, Set<String>> termsByGram = new HashMap<>();
+
+    void add(Collection<String> terms) {
+        for (String term : terms) {
+            if (vocabulary.merge(term, 1, Integer::sum) == 1) {
+                for (String gram : grams(term)) {
+                    termsByGram.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+                }
+            }
+        }
+    }
+
+    void remove(Collection<String> terms) {
+        for (String term : terms) {
+            Integer count = vocabulary.get(term);
+            if (count == null) continue;
+            if (count > 1) {
+                vocabulary.put(term, count - 1);
+                continue;
+            }
+            vocabulary.remove(term);
+            for (String gram : grams(term)) {
+                Set<String> gramTerms = termsByGram.get(gram);
+                if (gramTerms == null) continue;
+                gramTerms.remove(term);
+                if (gramTerms.isEmpty()) termsByGram.remove(gram);
+            }
+        }
+    }
+
+    void clear() {
+        vocabulary.clear();
+        termsByGram.clear();
+    }
+
+    /**
+     * @param term analyzed query term
+     * @param budget verification budget of the whole request, shared by all its terms
+     * @return vocabulary terms within the allowed edit distance, excluding the term itself
+     */
+    List<String> variants(String term, Budget budget) {
+        int maxEdits = maxEdits(term);
+        if (maxEdits == 0) return List.of();
+
+        //every edit destroys at most four of the padded trigrams (a transposition touches two positions)
+        List<String> grams = grams(term);
+        int minShared = Math.max(1, grams.size() - 4 * maxEdits);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            Set<String> gramTerms = termsByGram.get(gram);
+            if (gramTerms == null) continue;
+            for (String candidate : gramTerms) {
+                if (Math.abs(candidate.length() - term.length()) <= maxEdits) shared.merge(candidate, 1, Integer::sum);
+            }
+        }
+
+        //most similar and most used candidates are verified first, the budget may run out before the rest
+        List<String> candidates = shared.entrySet().stream()
+                .filter(entry -> entry.getValue() >= minShared && !entry.getKey().equals(term))
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(entry -> -vocabulary.getOrDefault(entry.getKey(), 0)))
+                .map(Map.Entry::getKey)
+                .toList();
+
+        List<String> variants = new ArrayList<>();
+        for (String candidate : candidates) {
+            if (!budget.tryVerify()) break;
+            if (withinDistance(term, candidate, maxEdits)) variants.add(candidate);
+        }
+        return variants;
+    }
+
+    static int maxEdits(String term) {
+        if (term.length() < MIN_TERM_LENGTH) return 0;
+        return term.length() < LONG_TERM_LENGTH ? 1 : 2;
+    }
+
+    /**
+     * Optimal string alignment distance of a and b is at most max, rows stop as soon as every cell exceeds max
+     */
+    static boolean withinDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) return false;
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) return false;
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()] <= max;
+    }
+
+    //padded so the first and last characters get grams of their own
+    private static List<String> grams(String term) {
+        String padded = "$" + term + "$";
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Per request cap on the fuzzy work, counted in verified candidates and wall time
+     */
+    static final class Budget {
+        private final long deadlineNanos;
+        private int verificationsLeft;
+        private boolean exhausted;
+
+        Budget(int maxVerifications, long maxNanos) {
+            this.verificationsLeft = maxVerifications;
+            this.deadlineNanos = System.nanoTime() + maxNanos;
+        }
+
+        boolean tryVerify() {
+            if (exhausted) return false;
+            //the clock is only read every 16 verifications
+            if (verificationsLeft <= 0 || ((verificationsLeft & 15) == 0 && System.nanoTime() > deadlineNanos)) {
+                exhausted = true;
+                return false;
+            }
+            verificationsLeft--;
+            return true;
+        }
+
+        boolean isExhausted() {
+            return exhausted;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package api.techhatch.com.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Published by {@link api.techhatch.com.service.JobService} whenever a job is created, updated, closed or deleted,
+ * and once per chunk by the bulk jobs (expiry sweep, geocoding backfill).
+ * Upserts hold the searchable jobs, removals the ids of jobs that no longer exist or are no longer searchable.
+ */
+public record JobChangedEvent(List<JobDocument> upserts, List<Long> removals) {
+
+    public static JobChangedEvent upserted(JobDocument document) {
+        return upsertedAll(List.of(document));
+    }
+
+    /**
+     * @param documents changed jobs, the ones that are no longer searchable become removals
+     */
+    public static JobChangedEvent upsertedAll(Collection<JobDocument> documents) {
+        List<JobDocument> upserts = new ArrayList<>(documents.size());
+        List<Long> removals = new ArrayList<>();
+        for (JobDocument document : documents) {
+            if (document.isSearchable()) upserts.add(document);
+            else removals.add(document.id());
+        }
+        return new JobChangedEvent(List.copyOf(upserts), List.copyOf(removals));
+    }
+
+    public static JobChangedEvent removed(Long jobId) {
+        return removedAll(List.of(jobId));
+    }
+
+    public static JobChangedEvent removedAll(Collection<Long> jobIds) {
+        return new JobChangedEvent(List.of(), List.copyOf(jobIds));
+    }
+
+    /**
+     * @return ids of every job touched by the change
+     */
+    public List<Long> jobIds() {
+        return Stream.concat(upserts.stream().map(JobDocument::id), removals.stream()).toList();
+    }
+
+    public int size() {
+        return upserts.size() + removals.size();
+    }
+}
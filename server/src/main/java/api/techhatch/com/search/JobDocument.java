@@ -0,0 +1,84 @@
+package api.techhatch.com.search;
+
+import api.techhatch.com.model.Job;
+import api.techhatch.com.model.RecruiterProfile;
+import api.techhatch.com.model.Skill;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the searchable fields of a job.
+ * Built inside the transaction that changed the job, so in-memory indexes never touch lazy associations.
+ */
+public record JobDocument(
+        Long id,
+        Long recruiterId,
+        String companyName,
+        String companyLogoUrl,
+        String title,
+        String description,
+        String requirements,
+        List<String> requiredSkills,
+        String location,
+        Double latitude,
+        Double longitude,
+        Job.JobType jobType,
+        Job.WorkMode workMode,
+        Job.ExperienceLevel experienceLevel,
+        BigDecimal salaryMin,
+        BigDecimal salaryMax,
+        String currency,
+        Job.JobStatus status,
+        LocalDateTime postedDate,
+        LocalDateTime expiryDate
+) {
+
+    public static JobDocument from(Job job) {
+        RecruiterProfile recruiter = job.getRecruiterProfile();
+        return new JobDocument(
+                job.getId(),
+                recruiter.getId(),
+                recruiter.getCompanyName(),
+                recruiter.getCompanyLogoUrl(),
+                job.getTitle(),
+                job.getDescription(),
+                job.getRequirements(),
+                job.getRequiredSkills() != null ? List.copyOf(job.getRequiredSkills()) : List.of(),
+                job.getLocation(),
+                job.getLatitude(),
+                job.getLongitude(),
+                job.getJobType(),
+                job.getWorkMode(),
+                job.getExperienceLevel(),
+                job.getSalaryMin(),
+                job.getSalaryMax(),
+                job.getCurrency(),
+                job.getJobStatus(),
+                job.getPostedDate(),
+                job.getExpiryDate()
+        );
+    }
+
+    /**
+     * @return required skills in their dictionary form (Skill.normalize)
+     */
+    public Set<String> skillKeys() {
+        Set<String> keys = new HashSet<>();
+        for (String skill : requiredSkills) {
+            String key = Skill.normalize(skill);
+            if (key != null) keys.add(key);
+        }
+        return keys;
+    }
+
+    /**
+     * Only active jobs are publicly searchable
+     */
+    public boolean isSearchable() {
+        return status == Job.JobStatus.ACTIVE;
+    }
+}
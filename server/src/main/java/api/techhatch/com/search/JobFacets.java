@@ -0,0 +1,34 @@
+package api.techhatch.com.search;
+
+import api.techhatch.com.model.Job;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Facet counts of a keyword search, e.g. jobTypes {FULL_TIME=1204, ...}.
+ * Each dimension is counted with every filter applied except its own, so the UI can show the alternatives of a
+ * selected value. Enum dimensions list every value (zero counts included), locations only the most frequent ones.
+ */
+public record JobFacets(
+        Map<Job.JobType, Integer> jobTypes,
+        Map<Job.ExperienceLevel, Integer> experienceLevels,
+        Map<Job.WorkMode, Integer> workModes,
+        Map<String, Integer> locations
+) {
+
+    public static JobFacets empty() {
+        return new JobFacets(
+                zeros(Job.JobType.class),
+                zeros(Job.ExperienceLevel.class),
+                zeros(Job.WorkMode.class),
+                new LinkedHashMap<>());
+    }
+
+    private static <E extends Enum<E>> Map<E, Integer> zeros(Class<E> type) {
+        Map<E, Integer> counts = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) counts.put(value, 0);
+        return counts;
+    }
+}
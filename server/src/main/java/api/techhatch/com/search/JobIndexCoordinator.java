@@ -0,0 +1,185 @@
+package api.techhatch.com.search;
+
+import api.techhatch.com.repository.JobRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Keeps every {@link JobIndexSink} in sync with the jobs table.
+ * On startup the active jobs are streamed in id-ordered chunks (one short read-only transaction per chunk),
+ * afterwards sinks are updated incrementally from committed {@link JobChangedEvent}s.
+ * A failed rebuild is retried with exponential backoff. Until one completes the sinks stay not ready (searches fall
+ * back to SQL) and committed changes keep queuing.
+ * Each applied change is followed by a {@link SearchIndexUpdatedEvent}, the snapshot sends its own once published.
+ */
+@Component
+@Slf4j
+public class JobIndexCoordinator {
+
+    private final List<JobIndexSink> sinks;
+    private final JobRepo jobRepo;
+    private final TransactionTemplate readOnlyTx;
+    private final int chunkSize;
+    private final Duration retryInitial;
+    private final Duration retryMax;
+    private final ApplicationEventPublisher eventPublisher;
+
+    //events committed while a rebuild is running are replayed once it finishes
+    private final Queue<JobChangedEvent> pendingEvents = new ArrayDeque<>();
+    private boolean rebuilding;
+
+    public JobIndexCoordinator(List<JobIndexSink> sinks,
+                               JobRepo jobRepo,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${search.index.rebuild-chunk-size:500}") int chunkSize,
+                               @Value("${search.index.rebuild-retry-initial:5s}") Duration retryInitial,
+                               @Value("${search.index.rebuild-retry-max:5m}") Duration retryMax,
+                               ApplicationEventPublisher eventPublisher) {
+        this.sinks = sinks;
+        this.jobRepo = jobRepo;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.chunkSize = chunkSize;
+        this.retryInitial = retryInitial;
+        this.retryMax = retryMax;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread.ofVirtual().name("job-index-rebuild").start(this::rebuild);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        synchronized (pendingEvents) {
+            if (rebuilding) {
+                pendingEvents.add(event);
+                return;
+            }
+        }
+        apply(event);
+    }
+
+    /**
+     * Streams all active jobs into the sinks, keyset-paginated on id so memory stays bounded by the chunk size.
+     * Blocks until an attempt succeeds, endRebuild is only called on the sinks once every chunk was streamed.
+     * An interrupted rebuild is abandoned: the sinks stay not ready and changes are applied to them directly again.
+     */
+    public void rebuild() {
+        synchronized (pendingEvents) {
+            if (rebuilding) return;
+            rebuilding = true;
+        }
+        boolean rebuilt = false;
+        try {
+            rebuilt = rebuildWithRetries();
+        } finally {
+            if (!rebuilt) abandonRebuild();
+        }
+    }
+
+    //HELPER METHODS
+
+    private boolean rebuildWithRetries() {
+        Duration backoff = retryInitial;
+        for (int attempt = 1; ; attempt++) {
+            long started = System.currentTimeMillis();
+            long indexed;
+            try {
+                indexed = streamActiveJobs();
+            } catch (RuntimeException e) {
+                log.error("Job index rebuild attempt {} failed, retrying in {}", attempt, backoff, e);
+                if (!sleep(backoff)) return false;
+                Duration doubled = backoff.multipliedBy(2);
+                backoff = doubled.compareTo(retryMax) > 0 ? retryMax : doubled;
+                continue;
+            }
+            sinks.forEach(JobIndexSink::endRebuild);
+            drainPendingEvents();
+            log.info("Job index rebuilt with {} active jobs in {} ms", indexed, System.currentTimeMillis() - started);
+            return true;
+        }
+    }
+
+    //queued changes would never be drained, the next rebuild reads them from the table anyway
+    private void abandonRebuild() {
+        int dropped;
+        synchronized (pendingEvents) {
+            dropped = pendingEvents.size();
+            pendingEvents.clear();
+            rebuilding = false;
+        }
+        log.warn("Job index rebuild abandoned, searches keep using SQL and {} queued changes were dropped", dropped);
+    }
+
+    private long streamActiveJobs() {
+        //every attempt starts from empty sinks, a failed one leaves them half filled and not ready
+        sinks.forEach(JobIndexSink::beginRebuild);
+        long indexed = 0;
+        long lastId = 0;
+        while (true) {
+            final long afterId = lastId;
+            List<JobDocument> chunk = readOnlyTx.execute(status ->
+                    jobRepo.findActiveJobsAfter(afterId, PageRequest.of(0, chunkSize)).stream()
+                            .map(JobDocument::from)
+                            .toList());
+            if (chunk == null || chunk.isEmpty()) return indexed;
+
+            for (JobDocument document : chunk) {
+                sinks.forEach(sink -> sink.upsert(document));
+            }
+            indexed += chunk.size();
+            lastId = chunk.getLast().id();
+            if (chunk.size() < chunkSize) return indexed;
+        }
+    }
+
+    private static boolean sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drainPendingEvents() {
+        while (true) {
+            JobChangedEvent event;
+            synchronized (pendingEvents) {
+                event = pendingEvents.poll();
+                if (event == null) {
+                    rebuilding = false;
+                    return;
+                }
+            }
+            apply(event);
+        }
+    }
+
+    private void apply(JobChangedEvent event) {
+        for (JobIndexSink sink : sinks) {
+            try {
+                sink.apply(event);
+            } catch (RuntimeException e) {
+                log.error("Failed to apply change of jobs {} to {}", event.jobIds(), sink.getClass().getSimpleName(), e);
+            }
+        }
+        eventPublisher.publishEvent(new SearchIndexUpdatedEvent());
+    }
+}
@@ -0,0 +1,33 @@
+package api.techhatch.com.search;
+
+/**
+ * An in-memory structure kept in sync with the active jobs.
+ * Implementations are fed by {@link JobIndexCoordinator}, both on startup and after every committed job change.
+ */
+public interface JobIndexSink {
+
+    void upsert(JobDocument document);
+
+    void remove(Long jobId);
+
+    /**
+     * Applies a committed change, one call per event however many jobs it carries.
+     * Sinks that publish after every change override it to publish once per batch.
+     */
+    default void apply(JobChangedEvent event) {
+        event.upserts().forEach(this::upsert);
+        event.removals().forEach(this::remove);
+    }
+
+    /**
+     * Called before a full rebuild streams every active job through {@link #upsert(JobDocument)}
+     */
+    default void beginRebuild() {
+    }
+
+    /**
+     * Called once the rebuild has streamed the last chunk
+     */
+    default void endRebuild() {
+    }
+}
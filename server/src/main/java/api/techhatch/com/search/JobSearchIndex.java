@@ -0,0 +1,466 @@
+package api.techhatch.com.search;
+
+import api.techhatch.com.model.Job;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over the active jobs.
+ * Title, required skills, requirements and description are tokenized into posting lists (term -> job id -> weighted tf)
+ * and matches are ranked with BM25. All other {@link JobSearchQuery} filters are evaluated on the stored documents,
+ * so a keyword search never scans the jobs table.
+ * Every document also gets a dense ordinal, with one bitset per job type, experience level and work mode over those
+ * ordinals, so facet counts are bitset intersections over the match set.
+ * When a keyword search finds fewer than search.fuzzy.min-hits jobs it is retried typo tolerant: query terms also
+ * match title and skill terms a small edit distance away, within a per request budget.
+ */
+@Component
+public class JobSearchIndex implements JobIndexSink {
+
+    //field boosts, a hit in the title counts more than one buried in the description
+    private static final float TITLE_BOOST = 3.0f;
+    private static final float SKILL_BOOST = 2.5f;
+    private static final float REQUIREMENTS_BOOST = 1.2f;
+    private static final float DESCRIPTION_BOOST = 1.0f;
+
+    //BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    //query terms also match longer index terms ("java" -> "javascript"), like the LIKE query did, at a lower weight
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+
+    //a misspelled term only stands in for the real one, exact matches keep ranking first
+    private static final double FUZZY_MATCH_WEIGHT = 0.4;
+
+    private static final int MAX_LOCATION_FACETS = 10;
+
+    private static final Comparator<Hit> RANKING = Comparator
+            .comparingDouble(Hit::score).reversed()
+            .thenComparing(Hit::postedDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Hit::jobId, Comparator.reverseOrder());
+
+    private static final Comparator<Hit> NEWEST_FIRST = Comparator
+            .comparing(Hit::postedDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Hit::jobId, Comparator.reverseOrder());
+
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, IndexedJob> documents = new HashMap<>();
+    //ordinal -> job, slots of removed jobs are null until reused
+    private final List<IndexedJob> byOrdinal = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final Map<Job.JobType, BitSet> jobTypeBits = new EnumMap<>(Job.JobType.class);
+    private final Map<Job.ExperienceLevel, BitSet> experienceLevelBits = new EnumMap<>(Job.ExperienceLevel.class);
+    private final Map<Job.WorkMode, BitSet> workModeBits = new EnumMap<>(Job.WorkMode.class);
+    private final FuzzyTermMatcher fuzzyTerms = new FuzzyTermMatcher();
+    private double totalLength;
+    private volatile boolean ready;
+
+    private final boolean fuzzyEnabled;
+    private final int fuzzyMinHits;
+    private final int fuzzyMaxVerifications;
+    private final long fuzzyMaxNanos;
+    private final Timer fuzzyTimer;
+    private final Counter fuzzyBudgetExhausted;
+
+    public JobSearchIndex(@Value("${search.index.enabled:true}") boolean enabled,
+                          @Value("${search.fuzzy.enabled:true}") boolean fuzzyEnabled,
+                          @Value("${search.fuzzy.min-hits:3}") int fuzzyMinHits,
+                          @Value("${search.fuzzy.max-verifications:500}") int fuzzyMaxVerifications,
+                          @Value("${search.fuzzy.max-time:5ms}") Duration fuzzyMaxTime,
+                          MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.fuzzyEnabled = fuzzyEnabled;
+        this.fuzzyMinHits = fuzzyMinHits;
+        this.fuzzyMaxVerifications = fuzzyMaxVerifications;
+        this.fuzzyMaxNanos = fuzzyMaxTime.toNanos();
+        this.fuzzyTimer = Timer.builder("search.fuzzy")
+                .description("Extra time spent by typo tolerant retries of keyword searches")
+                .register(meterRegistry);
+        this.fuzzyBudgetExhausted = Counter.builder("search.fuzzy.budget.exhausted")
+                .description("Typo tolerant retries cut short by the per request budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true once the startup rebuild has completed, until then callers should fall back to the database
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Whether a keyword search answered elsewhere (the SQL search modes) with this many hits
+     * should be retried here, typo tolerant
+     */
+    public boolean shouldRetryFuzzy(long totalHits) {
+        return isReady() && fuzzyEnabled && totalHits < fuzzyMinHits;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(JobDocument document) {
+        if (!enabled) return;
+
+        Map<String, Float> termWeights = new HashMap<>();
+        addField(termWeights, document.title(), TITLE_BOOST);
+        addField(termWeights, String.join(" ", document.requiredSkills()), SKILL_BOOST);
+        addField(termWeights, document.requirements(), REQUIREMENTS_BOOST);
+        addField(termWeights, document.description(), DESCRIPTION_BOOST);
+
+        Set<String> vocabulary = new HashSet<>(TextAnalyzer.tokenize(document.title()));
+        document.requiredSkills().forEach(skill -> vocabulary.addAll(TextAnalyzer.tokenize(skill)));
+
+        float length = 0;
+        for (float weight : termWeights.values()) length += weight;
+
+        String location = document.location() != null ? document.location().trim().toLowerCase(Locale.ROOT) : null;
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.id());
+            int ordinal = freeOrdinals.isEmpty() ? byOrdinal.size() : freeOrdinals.pop();
+            IndexedJob indexed = new IndexedJob(document, termWeights, vocabulary, length, location,
+                    document.skillKeys(), ordinal);
+            if (ordinal == byOrdinal.size()) byOrdinal.add(indexed);
+            else byOrdinal.set(ordinal, indexed);
+            setFacetBits(document, ordinal, true);
+            documents.put(document.id(), indexed);
+            fuzzyTerms.add(vocabulary);
+            totalLength += length;
+            termWeights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.id(), weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long jobId) {
+        if (!enabled) return;
+        lock.writeLock().lock();
+        try {
+            removeInternal(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //removals of a batch (an expiry sweep chunk) take the write lock once
+    @Override
+    public void apply(JobChangedEvent event) {
+        if (!enabled) return;
+        event.upserts().forEach(this::upsert);
+        if (event.removals().isEmpty()) return;
+        lock.writeLock().lock();
+        try {
+            event.removals().forEach(this::removeInternal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            postings.clear();
+            documents.clear();
+            byOrdinal.clear();
+            freeOrdinals.clear();
+            jobTypeBits.clear();
+            experienceLevelBits.clear();
+            workModeBits.clear();
+            fuzzyTerms.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void endRebuild() {
+        ready = true;
+    }
+
+    /**
+     * Ranked keyword search, every query term has to match (AND semantics).
+     * Retried typo tolerant when fewer than search.fuzzy.min-hits jobs match exactly.
+     * @param query parsed search filters, keyword is required
+     * @param sort relevance (BM25 score) or newest first
+     * @param page zero based page number
+     * @param size page size
+     * @return ids of the requested page in ranking order, the total hit count and the facet counts
+     */
+    public SearchHits search(JobSearchQuery query, SearchSort sort, int page, int size) {
+        List<String> terms = TextAnalyzer.tokenize(query.keyword()).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return SearchHits.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            int docCount = documents.size();
+            if (docCount == 0) return SearchHits.empty();
+            double avgLength = totalLength / docCount;
+
+            SearchHits hits = collect(matchScores(terms, docCount, avgLength, null), query, sort, page, size);
+            if (!fuzzyEnabled || hits.totalHits() >= fuzzyMinHits) return hits;
+
+            long start = System.nanoTime();
+            FuzzyTermMatcher.Budget budget = new FuzzyTermMatcher.Budget(fuzzyMaxVerifications, fuzzyMaxNanos);
+            Map<Long, Double> fuzzyScores = matchScores(terms, docCount, avgLength, budget);
+            SearchHits fuzzyHits = collect(fuzzyScores, query, sort, page, size);
+            fuzzyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (budget.isExhausted()) fuzzyBudgetExhausted.increment();
+            return fuzzyHits.totalHits() > hits.totalHits() ? fuzzyHits : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //HELPER METHODS
+
+    //jobs matching every term with their summed scores, a fuzzy budget also lets terms match their misspellings
+    private Map<Long, Double> matchScores(List<String> terms, int docCount, double avgLength,
+                                          FuzzyTermMatcher.Budget fuzzyBudget) {
+        Map<Long, Double> scores = null;
+        for (String term : terms) {
+            Map<Long, Double> termScores = scoreTerm(term, docCount, avgLength);
+            if (fuzzyBudget != null) {
+                for (String variant : fuzzyTerms.variants(term, fuzzyBudget)) {
+                    Map<Long, Float> posting = postings.get(variant);
+                    if (posting != null) accumulate(termScores, posting, docCount, avgLength, FUZZY_MATCH_WEIGHT);
+                }
+            }
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) return scores;
+        }
+        return scores;
+    }
+
+    private SearchHits collect(Map<Long, Double> scores, JobSearchQuery query, SearchSort sort, int page, int size) {
+        if (scores.isEmpty()) return SearchHits.empty();
+
+        //keyword, salary and date matches, and which of those also match the location
+        BitSet base = new BitSet(byOrdinal.size());
+        BitSet locationMatches = new BitSet(byOrdinal.size());
+        String location = query.location() != null ? query.location().toLowerCase(Locale.ROOT) : null;
+        for (Long jobId : scores.keySet()) {
+            IndexedJob job = documents.get(jobId);
+            if (!matchesRangeFilters(job, query)) continue;
+            base.set(job.ordinal());
+            if (location == null || (job.location() != null && job.location().contains(location))) {
+                locationMatches.set(job.ordinal());
+            }
+        }
+
+        BitSet jobTypeFilter = query.jobType() != null ? bitsOf(jobTypeBits, query.jobType()) : null;
+        BitSet experienceFilter = query.experienceLevel() != null
+                ? bitsOf(experienceLevelBits, query.experienceLevel()) : null;
+        JobFacets facets = countFacets(base, locationMatches, jobTypeFilter, experienceFilter);
+
+        BitSet matched = intersect(base, locationMatches, jobTypeFilter, experienceFilter);
+        List<Hit> hits = new ArrayList<>(matched.cardinality());
+        for (int ordinal = matched.nextSetBit(0); ordinal >= 0; ordinal = matched.nextSetBit(ordinal + 1)) {
+            JobDocument doc = byOrdinal.get(ordinal).document();
+            hits.add(new Hit(doc.id(), scores.get(doc.id()), doc.postedDate()));
+        }
+        return page(hits, sort == SearchSort.POSTED_DATE ? NEWEST_FIRST : RANKING, page, size, facets);
+    }
+
+    private Map<Long, Double> scoreTerm(String term, int docCount, double avgLength) {
+        Map<Long, Double> scores = new HashMap<>();
+        Map<Long, Float> exact = postings.get(term);
+        if (exact != null) {
+            accumulate(scores, exact, docCount, avgLength, 1.0);
+        }
+        if (term.length() >= MIN_PREFIX_LENGTH) {
+            int expansions = 0;
+            for (Map.Entry<String, Map<Long, Float>> entry :
+                    postings.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+                if (++expansions > MAX_PREFIX_EXPANSIONS) break;
+                accumulate(scores, entry.getValue(), docCount, avgLength, PREFIX_MATCH_WEIGHT);
+            }
+        }
+        return scores;
+    }
+
+    private void accumulate(Map<Long, Double> scores, Map<Long, Float> posting, int docCount, double avgLength, double weight) {
+        int df = posting.size();
+        double idf = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+        posting.forEach((jobId, tf) -> {
+            double norm = K1 * (1 - B + B * documents.get(jobId).length() / avgLength);
+            double score = weight * idf * (tf * (K1 + 1)) / (tf + norm);
+            //a job matching several variants of one query term keeps its best variant
+            scores.merge(jobId, score, Math::max);
+        });
+    }
+
+    //location, job type and experience level are facets and are applied as bitsets in search()
+    private boolean matchesRangeFilters(IndexedJob job, JobSearchQuery query) {
+        if (query.skill() != null && !job.skills().contains(query.skill())) return false;
+        JobDocument doc = job.document();
+        if (query.near() != null && !query.near().contains(doc.latitude(), doc.longitude())) return false;
+        if (query.minSalary() != null
+                && (doc.salaryMax() == null || doc.salaryMax().compareTo(query.minSalary()) < 0)) {
+            return false;
+        }
+        if (query.maxSalary() != null
+                && (doc.salaryMin() == null || doc.salaryMin().compareTo(query.maxSalary()) > 0)) {
+            return false;
+        }
+        if (query.fromDate() != null
+                && (doc.postedDate() == null || doc.postedDate().isBefore(query.fromDate()))) {
+            return false;
+        }
+        return query.toDate() == null
+                || (doc.postedDate() != null && !doc.postedDate().isAfter(query.toDate()));
+    }
+
+    /**
+     * Counts every dimension over the match set filtered by all other dimensions,
+     * selecting FULL_TIME still reports how many CONTRACT jobs match the rest of the query
+     */
+    private JobFacets countFacets(BitSet base, BitSet locationMatches, BitSet jobTypeFilter, BitSet experienceFilter) {
+        BitSet scratch = new BitSet(byOrdinal.size());
+        return new JobFacets(
+                countValues(intersect(base, locationMatches, experienceFilter), jobTypeBits, Job.JobType.class, scratch),
+                countValues(intersect(base, locationMatches, jobTypeFilter), experienceLevelBits, Job.ExperienceLevel.class, scratch),
+                countValues(intersect(base, locationMatches, jobTypeFilter, experienceFilter), workModeBits, Job.WorkMode.class, scratch),
+                topLocations(intersect(base, jobTypeFilter, experienceFilter))
+        );
+    }
+
+    private <E extends Enum<E>> Map<E, Integer> countValues(BitSet matches, Map<E, BitSet> bitsByValue,
+                                                            Class<E> type, BitSet scratch) {
+        Map<E, Integer> counts = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            BitSet valueBits = bitsByValue.get(value);
+            if (valueBits == null) {
+                counts.put(value, 0);
+                continue;
+            }
+            scratch.clear();
+            scratch.or(matches);
+            scratch.and(valueBits);
+            counts.put(value, scratch.cardinality());
+        }
+        return counts;
+    }
+
+    //free text locations are counted in one pass over the matches, keyed case-insensitively
+    private Map<String, Integer> topLocations(BitSet matches) {
+        Map<String, Integer> counts = new HashMap<>();
+        Map<String, String> displayNames = new HashMap<>();
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            IndexedJob job = byOrdinal.get(ordinal);
+            if (job.location() == null || job.location().isEmpty()) continue;
+            counts.merge(job.location(), 1, Integer::sum);
+            displayNames.putIfAbsent(job.location(), job.document().location().trim());
+        }
+
+        Map<String, Integer> top = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(MAX_LOCATION_FACETS)
+                .forEach(entry -> top.put(displayNames.get(entry.getKey()), entry.getValue()));
+        return top;
+    }
+
+    //null filters are not applied, always returns a new set
+    private static BitSet intersect(BitSet first, BitSet... others) {
+        BitSet result = (BitSet) first.clone();
+        for (BitSet other : others) {
+            if (other != null) result.and(other);
+        }
+        return result;
+    }
+
+    private static <E extends Enum<E>> BitSet bitsOf(Map<E, BitSet> bitsByValue, E value) {
+        return bitsByValue.getOrDefault(value, new BitSet());
+    }
+
+    private void setFacetBits(JobDocument document, int ordinal, boolean value) {
+        if (document.jobType() != null) {
+            jobTypeBits.computeIfAbsent(document.jobType(), t -> new BitSet()).set(ordinal, value);
+        }
+        if (document.experienceLevel() != null) {
+            experienceLevelBits.computeIfAbsent(document.experienceLevel(), l -> new BitSet()).set(ordinal, value);
+        }
+        if (document.workMode() != null) {
+            workModeBits.computeIfAbsent(document.workMode(), m -> new BitSet()).set(ordinal, value);
+        }
+    }
+
+    private SearchHits page(List<Hit> hits, Comparator<Hit> order, int page, int size, JobFacets facets) {
+        //long, a huge page number must not overflow into a valid offset
+        long from = (long) page * size;
+        if (from >= hits.size()) {
+            return new SearchHits(List.of(), hits.size(), facets);
+        }
+        hits.sort(order);
+        List<Long> ids = hits.subList((int) from, (int) Math.min(from + size, hits.size())).stream()
+                .map(Hit::jobId)
+                .toList();
+        return new SearchHits(ids, hits.size(), facets);
+    }
+
+    private void addField(Map<String, Float> termWeights, String text, float boost) {
+        for (String token : TextAnalyzer.tokenize(text)) {
+            termWeights.merge(token, boost, Float::sum);
+        }
+    }
+
+    private void removeInternal(Long jobId) {
+        IndexedJob existing = documents.remove(jobId);
+        if (existing == null) return;
+        totalLength -= existing.length();
+        setFacetBits(existing.document(), existing.ordinal(), false);
+        byOrdinal.set(existing.ordinal(), null);
+        freeOrdinals.push(existing.ordinal());
+        fuzzyTerms.remove(existing.vocabulary());
+        for (String term : existing.termWeights().keySet()) {
+            Map<Long, Float> posting = postings.get(term);
+            if (posting == null) continue;
+            posting.remove(jobId);
+            if (posting.isEmpty()) postings.remove(term);
+        }
+    }
+
+    //vocabulary: title and skill terms, the ones typo tolerant searches can correct to
+    private record IndexedJob(JobDocument document, Map<String, Float> termWeights, Set<String> vocabulary,
+                              float length, String location, Set<String> skills, int ordinal) {
+    }
+
+    private record Hit(Long jobId, double score, LocalDateTime postedDate) {
+    }
+}
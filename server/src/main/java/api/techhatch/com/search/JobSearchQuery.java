@@ -0,0 +1,26 @@
+package api.techhatch.com.search;
+
+import api.techhatch.com.geo.GeoCircle;
+import api.techhatch.com.model.Job;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Parsed form of {@link api.techhatch.com.dto.request.JobSearchFilter}, null fields are not filtered on
+ */
+public record JobSearchQuery(
+        String keyword,
+        String location,
+        Job.JobType jobType,
+        Job.ExperienceLevel experienceLevel,
+        BigDecimal minSalary,
+        BigDecimal maxSalary,
+        LocalDateTime fromDate,
+        LocalDateTime toDate,
+        //normalized skill name (Skill.normalize), jobs have to list it in their required skills
+        String skill,
+        //jobs whose location lies within the circle
+        GeoCircle near
+) {
+}
@@ -0,0 +1,13 @@
+package api.techhatch.com.search;
+
+import java.util.List;
+
+/**
+ * One page of ranked job ids plus the total number of matching jobs and the facet counts of the whole match set
+ */
+public record SearchHits(List<Long> jobIds, long totalHits, JobFacets facets) {
+
+    public static SearchHits empty() {
+        return new SearchHits(List.of(), 0, JobFacets.empty());
+    }
+}
@@ -0,0 +1,9 @@
+package api.techhatch.com.search;
+
+/**
+ * Published once job changes are visible to searches served from memory: by {@link ActiveJobSnapshotIndex} after
+ * each snapshot it publishes, and by {@link JobIndexCoordinator} after the sinks applied a {@link JobChangedEvent}.
+ * Pages computed from the previous state are dropped by the search result cache.
+ */
+public record SearchIndexUpdatedEvent() {
+}
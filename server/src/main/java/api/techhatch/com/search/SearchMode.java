@@ -0,0 +1,17 @@
+package api.techhatch.com.search;
+
+/**
+ * Backend used to answer a keyword search
+ */
+public enum SearchMode {
+    //in-memory inverted index (JobSearchIndex)
+    INDEX,
+    //LOWER(..) LIKE '%keyword%' table scan, always available
+    LIKE,
+    //MySQL FULLTEXT idx_search, MATCH .. AGAINST .. IN NATURAL LANGUAGE MODE
+    NATURAL,
+    //MySQL FULLTEXT idx_search, MATCH .. AGAINST .. IN BOOLEAN MODE
+    BOOLEAN,
+    //no keyword, structured filters only, evaluated on the in-memory ActiveJobSnapshot
+    FILTER
+}
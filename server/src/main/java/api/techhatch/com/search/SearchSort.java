@@ -0,0 +1,9 @@
+package api.techhatch.com.search;
+
+/**
+ * Result ordering of a keyword search
+ */
+public enum SearchSort {
+    RELEVANCE,
+    POSTED_DATE
+}
@@ -0,0 +1,236 @@
+package api.techhatch.com.search;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Typeahead over job titles, required skills, locations and company names, weighted by the number of active jobs
+ * using them.
+ * Suggestions are published as an immutable sorted array of keys (one key per word start, so "dev" finds
+ * "Senior Java Developer"), a prefix is a binary searched range of that array.
+ * Job changes update the term counts and republish the arrays copy-on-write on a background thread,
+ * consecutive changes are coalesced into one rebuild. Lookups never lock.
+ */
+@Component
+public class SuggestionIndex implements JobIndexSink {
+
+    public enum Type {
+        TITLE, SKILL, LOCATION, COMPANY
+    }
+
+    /**
+     * @param weight number of active jobs using the text
+     */
+    public record Suggestion(String text, Type type, int weight) {
+    }
+
+    public static final int MAX_LIMIT = 20;
+
+    private static final Comparator<Suggestion> BEST_FIRST = Comparator
+            .comparingInt(Suggestion::weight).reversed()
+            .thenComparingInt(suggestion -> suggestion.text().length())
+            .thenComparing(Suggestion::text);
+
+    private final boolean enabled;
+
+    //writer side state, guarded by this
+    private final Map<TermKey, Term> terms = new HashMap<>();
+    private final Map<Long, Set<TermKey>> termsByJob = new HashMap<>();
+    private boolean rebuilding;
+
+    private volatile Snapshot snapshot = Snapshot.build(List.of());
+    private final ExecutorService publisher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("suggestion-publisher").daemon().factory());
+    private final AtomicBoolean publishPending = new AtomicBoolean();
+
+    public SuggestionIndex(@Value("${search.suggest.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @param prefix typed text, matched case-insensitively against the start of any word
+     * @param limit maximum number of suggestions, capped at {@link #MAX_LIMIT}
+     * @return best suggestions first
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized == null || limit <= 0) return List.of();
+        return snapshot.suggest(normalized, Math.min(limit, MAX_LIMIT));
+    }
+
+    @Override
+    public synchronized void upsert(JobDocument document) {
+        if (!enabled) return;
+        removeJob(document.id());
+
+        Set<TermKey> keys = new HashSet<>();
+        addTerm(keys, Type.TITLE, document.title());
+        document.requiredSkills().forEach(skill -> addTerm(keys, Type.SKILL, skill));
+        addTerm(keys, Type.LOCATION, document.location());
+        addTerm(keys, Type.COMPANY, document.companyName());
+        termsByJob.put(document.id(), keys);
+        publish();
+    }
+
+    @Override
+    public synchronized void remove(Long jobId) {
+        if (!enabled) return;
+        if (removeJob(jobId)) publish();
+    }
+
+    @Override
+    public synchronized void beginRebuild() {
+        rebuilding = true;
+        terms.clear();
+        termsByJob.clear();
+    }
+
+    @Override
+    public synchronized void endRebuild() {
+        rebuilding = false;
+        publish();
+    }
+
+    //HELPER METHODS
+
+    private void addTerm(Set<TermKey> keys, Type type, String text) {
+        String normalized = normalize(text);
+        if (normalized == null) return;
+        TermKey key = new TermKey(type, normalized);
+        //a job repeating a skill still counts once
+        if (!keys.add(key)) return;
+        terms.computeIfAbsent(key, k -> new Term(text.trim().replaceAll("\\s+", " "))).count++;
+    }
+
+    private boolean removeJob(Long jobId) {
+        Set<TermKey> keys = termsByJob.remove(jobId);
+        if (keys == null) return false;
+        for (TermKey key : keys) {
+            Term term = terms.get(key);
+            if (term != null && --term.count <= 0) terms.remove(key);
+        }
+        return true;
+    }
+
+    private void publish() {
+        if (rebuilding || !publishPending.compareAndSet(false, true)) return;
+        publisher.execute(() -> {
+            publishPending.set(false);
+            snapshot = Snapshot.build(currentSuggestions());
+        });
+    }
+
+    private synchronized List<Suggestion> currentSuggestions() {
+        List<Suggestion> suggestions = new ArrayList<>(terms.size());
+        terms.forEach((key, term) -> suggestions.add(new Suggestion(term.display, key.type(), term.count)));
+        return suggestions;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        publisher.shutdownNow();
+    }
+
+    private static String normalize(String text) {
+        if (text == null) return null;
+        String normalized = text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private record TermKey(Type type, String normalized) {
+    }
+
+    private static final class Term {
+        private final String display;
+        private int count;
+
+        private Term(String display) {
+            this.display = display;
+        }
+    }
+
+    /**
+     * Immutable lookup structure: keys sorted, keys[i] is a word suffix of suggestions[owners[i]].
+     * A segment tree over the key positions holds the best suggestion of every range, so the top suggestions
+     * of a prefix range are extracted in O(limit * log n) however wide the range is.
+     */
+    private record Snapshot(String[] keys, int[] owners, Suggestion[] suggestions, int[] tree) {
+
+        static Snapshot build(List<Suggestion> suggestions) {
+            Suggestion[] all = suggestions.toArray(Suggestion[]::new);
+            List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+            for (int i = 0; i < all.length; i++) {
+                String text = normalize(all[i].text());
+                for (int start = 0; start < text.length(); start++) {
+                    if (start == 0 || text.charAt(start - 1) == ' ') {
+                        entries.add(Map.entry(text.substring(start), i));
+                    }
+                }
+            }
+            entries.sort(Map.Entry.comparingByKey());
+
+            int n = entries.size();
+            String[] keys = new String[n];
+            int[] owners = new int[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = entries.get(i).getKey();
+                owners[i] = entries.get(i).getValue();
+            }
+
+            //iterative segment tree, leaves at [n, 2n) hold key positions, inner nodes the better child
+            int[] tree = new int[2 * n];
+            for (int i = 0; i < n; i++) tree[n + i] = i;
+            Snapshot snapshot = new Snapshot(keys, owners, all, tree);
+            for (int node = n - 1; node > 0; node--) {
+                tree[node] = snapshot.better(tree[2 * node], tree[2 * node + 1]);
+            }
+            return snapshot;
+        }
+
+        List<Suggestion> suggest(String prefix, int limit) {
+            int from = Arrays.binarySearch(keys, prefix);
+            if (from < 0) from = -from - 1;
+            int to = Arrays.binarySearch(keys, prefix + Character.MAX_VALUE);
+            if (to < 0) to = -to - 1;
+            if (from >= to) return List.of();
+
+            //best-first expansion: take the best key of a range, then split the range around it
+            PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> BEST_FIRST.compare(
+                    suggestions[owners[a[2]]], suggestions[owners[b[2]]]));
+            ranges.add(new int[]{from, to, bestIn(from, to)});
+
+            List<Suggestion> result = new ArrayList<>(limit);
+            Set<Integer> seen = new HashSet<>();
+            while (!ranges.isEmpty() && result.size() < limit) {
+                int[] range = ranges.poll();
+                int position = range[2];
+                //a suggestion with several matching words shows up once
+                if (seen.add(owners[position])) result.add(suggestions[owners[position]]);
+                if (range[0] < position) ranges.add(new int[]{range[0], position, bestIn(range[0], position)});
+                if (position + 1 < range[1]) ranges.add(new int[]{position + 1, range[1], bestIn(position + 1, range[1])});
+            }
+            return result;
+        }
+
+        //position of the best key in [from, to)
+        private int bestIn(int from, int to) {
+            int n = keys.length;
+            int best = from;
+            for (int lo = from + n, hi = to + n; lo < hi; lo >>= 1, hi >>= 1) {
+                if ((lo & 1) == 1) best = better(best, tree[lo++]);
+                if ((hi & 1) == 1) best = better(best, tree[--hi]);
+            }
+            return best;
+        }
+
+        private int better(int a, int b) {
+            return BEST_FIRST.compare(suggestions[owners[a]], suggestions[owners[b]]) <= 0 ? a : b;
+        }
+    }
+}
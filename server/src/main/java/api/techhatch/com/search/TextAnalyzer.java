@@ -0,0 +1,58 @@
+package api.techhatch.com.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits free text into lowercase index terms.
+ * Keeps the characters used by technology names ("c++", "c#", "node.js", ".net") inside a term.
+ */
+public final class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "our", "the", "to", "we", "will", "with", "you", "your"
+    );
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean termChar = i < lower.length() && isTermChar(lower.charAt(i));
+            if (termChar && start < 0) {
+                start = i;
+            } else if (!termChar && start >= 0) {
+                addToken(tokens, lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addToken(List<String> tokens, String raw) {
+        //strip sentence punctuation but keep a leading dot (".net") and trailing "+" / "#"
+        int end = raw.length();
+        while (end > 0 && raw.charAt(end - 1) == '.') end--;
+        int begin = 0;
+        while (begin < end - 1 && raw.charAt(begin) == '.' && raw.charAt(begin + 1) == '.') begin++;
+        String token = raw.substring(begin, end);
+        if (token.isEmpty() || token.equals(".") || STOP_WORDS.contains(token)) {
+            return;
+        }
+        tokens.add(token);
+    }
+
+    private static boolean isTermChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#' || c == '.';
+    }
+}
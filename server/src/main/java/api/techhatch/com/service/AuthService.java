@@ -9,7 +9,10 @@ import api.techhatch.com.exception.*;
 import api.techhatch.com.model.*;
 import api.techhatch.com.repository.PendingRegistrationRepo;
 import api.techhatch.com.repository.UserRepo;
+import api.techhatch.com.revocation.TokenRevocationList;
 import api.techhatch.com.util.JwtUtil;
+import api.techhatch.com.util.VerifiedToken;
+import io.jsonwebtoken.JwtException;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -19,7 +22,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -35,9 +38,10 @@ public class AuthService {
     private final JwtUtil jwtUtil;
     private final UserRepo userRepo;
     private final PendingRegistrationRepo pendingRegistrationRepo;
-    private final BCryptPasswordEncoder encoder;
+    private final PasswordEncoder encoder;
     private final AuthenticationManager authManager;
     private final OtpService otpService;
+    private final TokenRevocationList revocationList;
 
     public OtpSentResponse register(RegisterRequest request){
 
@@ -154,10 +158,7 @@ public class AuthService {
             throw new ResourceNotFoundException("Account is suspended, try again after 15mins");
         }
 
-        //check for rate limits
-        otpService.checkRateLimit(request.getEmail());
-
-        //generate and send otp for verification
+        //generate and send otp for verification, rate limits are checked in there
         otpService.generateAndSendOtp(request.getEmail(), OtpVerification.OtpPurpose.LOGIN);
 
         log.info("OTP sent to {}, purpose {}", request.getEmail(), OtpVerification.OtpPurpose.LOGIN);
@@ -249,6 +250,36 @@ public class AuthService {
                 .build();
     }
 
+    /**
+     * Revokes the token of the request, it is rejected by every instance from then on until it expires
+     * @param authorization Authorization header with the Bearer token
+     */
+    public AuthResponse logout(String authorization){
+
+        if(authorization == null || !authorization.startsWith("Bearer ")){
+            throw new BadRequestException("No token to revoke");
+        }
+
+        final VerifiedToken token;
+        try {
+            token = jwtUtil.verify(authorization.substring(7));
+        }catch (JwtException ex){
+            throw new UnauthorizedException("Invalid token");
+        }
+
+        if(token.jti() == null){
+            throw new BadRequestException("Token cannot be revoked, it expires at " + token.expiresAt());
+        }
+
+        revocationList.revoke(token);
+
+        return AuthResponse.builder()
+                .email(token.email())
+                .userId(token.userId())
+                .message("Logged out successfully")
+                .build();
+    }
+
     //check if the user is authenticated, if yes return instead of generating new otp/token
     private boolean isAuthenticated() {
         final Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -5,18 +5,16 @@ import api.techhatch.com.dto.response.CandidateProfileResponse;
 import api.techhatch.com.exception.ResourceNotFoundException;
 import api.techhatch.com.model.CandidateProfile;
 import api.techhatch.com.model.Users;
+import api.techhatch.com.recommendation.CandidateProfileChangedEvent;
+import api.techhatch.com.recommendation.CandidateVector;
 import api.techhatch.com.repository.CandidateProfileRepo;
 import api.techhatch.com.repository.UserRepo;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -26,8 +24,8 @@ public class CandidateProfileService {
 
     private final CandidateProfileRepo candidateRepo;
     private final UserRepo userRepo;
-    @Autowired
-    private final ObjectMapper objectMapper;
+    private final SkillDictionary skillDictionary;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     /**
@@ -53,6 +51,7 @@ public class CandidateProfileService {
 
 
         CandidateProfile savedProfile = candidateRepo.save(candidateProfile);
+        eventPublisher.publishEvent(new CandidateProfileChangedEvent(CandidateVector.from(savedProfile)));
         return mapToResponse(savedProfile);
     }
 
@@ -88,7 +87,8 @@ public class CandidateProfileService {
     private void updateProfileDetails(CandidateProfile profile, CandidateProfileRequest request) {
         profile.setFullName(request.getFullName());
         profile.setPhone(request.getPhone());
-        profile.setSkills(convertSkillsToJson(request.getSkills()));
+        profile.setSkills(request.getSkills() != null ? List.copyOf(request.getSkills()) : List.of());
+        profile.setSkillPostings(skillDictionary.resolve(request.getSkills()));
         profile.setExperienceYears(request.getExperienceYears());
         profile.setEducation(request.getEducation());
         profile.setBio(request.getBio());
@@ -99,28 +99,6 @@ public class CandidateProfileService {
         profile.setLocation(request.getLocation());
     }
 
-    private String convertSkillsToJson(List<String> skills) {
-        if (skills == null || skills.isEmpty()) {
-            return "[]";
-        }
-        try {
-            return objectMapper.writeValueAsString(skills);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to convert skills to JSON", e);
-        }
-    }
-
-    private List<String> convertJsonToSkills(String json) {
-        if (json == null || json.isEmpty()) {
-            return Collections.emptyList();
-        }
-        try {
-            return Arrays.asList(objectMapper.readValue(json, String[].class));
-        } catch (JsonProcessingException e) {
-            return Collections.emptyList();
-        }
-    }
-
     private CandidateProfileResponse mapToResponse(CandidateProfile profile) {
         return CandidateProfileResponse.builder()
                 .id(profile.getId())
@@ -128,7 +106,7 @@ public class CandidateProfileService {
                 .email(profile.getUser().getEmail())
                 .fullName(profile.getFullName())
                 .phone(profile.getPhone())
-                .skills(convertJsonToSkills(profile.getSkills()))
+                .skills(profile.getSkills())
                 .experienceYears(profile.getExperienceYears())
                 .education(profile.getEducation())
                 .bio(profile.getBio())
@@ -2,27 +2,42 @@ package api.techhatch.com.service;
 
 import api.techhatch.com.dto.request.ApplicationStatusUpdateRequest;
 import api.techhatch.com.dto.request.JobApplicationRequest;
+import api.techhatch.com.dto.response.CursorPage;
 import api.techhatch.com.dto.response.JobApplicationResponse;
 import api.techhatch.com.exception.BadRequestException;
 import api.techhatch.com.exception.DuplicateResourceException;
 import api.techhatch.com.exception.ResourceNotFoundException;
 import api.techhatch.com.exception.UnauthorizedException;
+import api.techhatch.com.model.ArchivedJobApplication;
 import api.techhatch.com.model.CandidateProfile;
 import api.techhatch.com.model.Job;
 import api.techhatch.com.model.JobApplication;
 import api.techhatch.com.model.RecruiterProfile;
+import api.techhatch.com.repository.ArchivedJobApplicationRepo;
+import api.techhatch.com.repository.ArchivedJobRepo;
 import api.techhatch.com.repository.CandidateProfileRepo;
 import api.techhatch.com.repository.JobApplicationRepo;
 import api.techhatch.com.repository.JobRepo;
 import api.techhatch.com.repository.RecruiterProfileRepo;
+import api.techhatch.com.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -32,6 +47,8 @@ public class JobApplicationService {
     private final JobRepo jobRepo;
     private final CandidateProfileRepo candidateProfileRepo;
     private final RecruiterProfileRepo recruiterProfileRepo;
+    private final ArchivedJobApplicationRepo archivedApplicationRepo;
+    private final ArchivedJobRepo archivedJobRepo;
     private static final int PAGE_SIZE = 15;
 
     /**
@@ -65,11 +82,6 @@ public class JobApplicationService {
             throw new BadRequestException("This job posting is expired");
         }
 
-        //duplicate application for the same job
-        if (applicationRepo.existsByJobIdAndCandidateProfileId(job.getId(), candidateProfile.getId())){
-            throw new DuplicateResourceException("You have already applied for this job");
-        }
-
         JobApplication application = JobApplication.builder()
                 .job(job)
                 .candidateProfile(candidateProfile)
@@ -77,12 +89,23 @@ public class JobApplicationService {
                 .coverLetter(request.getCoverLetter())
                 .build();
 
-        //save application
-        JobApplication savedApplication = applicationRepo.save(application);
+        //increase job applicants count, atomically in the database. Runs before the insert: its row lock orders
+        //concurrent applies to this job, while inserting first would make them share the foreign key lock on the
+        //job row and deadlock upgrading it. A failed insert rolls the increment back
+        if (jobRepo.incrementApplicationCount(job.getId()) == 0) {
+            throw new BadRequestException("This job posting is no longer active");
+        }
 
-        //increase job applicants count
-        job.setApplicationCount(job.getApplicationCount() + 1);
-        jobRepo.save(job);
+        //save application, the unique key (job_id, candidate_id) rejects duplicates, a pre-check would race
+        JobApplication savedApplication;
+        try {
+            savedApplication = applicationRepo.saveAndFlush(application);
+        } catch (DataIntegrityViolationException e) {
+            if (isUniqueViolation(e)) {
+                throw new DuplicateResourceException("You have already applied for this job");
+            }
+            throw e;
+        }
 
         JobApplicationResponse response = mapToResponse(savedApplication, true, false);
         response.setMessage("Application submitted successfully");
@@ -102,16 +125,19 @@ public class JobApplicationService {
         CandidateProfile candidateProfile = candidateProfileRepo.findByUserEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Candidate profile not found"));
 
-        Pageable pageable = PageRequest.of(
-                page,
-                PAGE_SIZE,
-                Sort.by(Sort.Direction.DESC, "appliedDate"));
+        //newest first, ordered by the query
+        Pageable pageable = PageRequest.of(page, PAGE_SIZE);
 
         JobApplication.Status status = parseStatus(statusFilter);
 
-        Page<JobApplication> applications = applicationRepo.findCandidateApplications(candidateProfile.getId(), status, pageable);
+        //applications of archived jobs are listed too, merged by applied date
+        Page<Long> ids = applicationRepo.findCandidateApplicationIds(
+                candidateProfile.getId(), status != null ? status.name() : null, pageable);
 
-        return applications.map(a -> mapToResponse(a, true, false));
+        List<JobApplicationResponse> applications = loadApplications(ids.getContent()).stream()
+                .map(a -> mapToResponse(a, true, false))
+                .toList();
+        return new PageImpl<>(applications, pageable, ids.getTotalElements());
     }
 
     /**
@@ -128,13 +154,7 @@ public class JobApplicationService {
         RecruiterProfile recruiterProfile = recruiterProfileRepo.findByUserEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Recruiter Profile not found"));
 
-        Job job = jobRepo.findById(jobId)
-                .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
-
-        //check if recruiter is accessing only his own job applicants
-        if(!job.getRecruiterProfile().getId().equals(recruiterProfile.getId())){
-            throw new UnauthorizedException("You can only view your job applications");
-        }
+        boolean archived = checkJobOwner(jobId, recruiterProfile);
 
         JobApplication.Status status = parseStatus(statusFilter);
 
@@ -143,11 +163,77 @@ public class JobApplicationService {
                 PAGE_SIZE,
                 Sort.by(Sort.Direction.DESC, "appliedDate"));
 
-        Page<JobApplication> applications = applicationRepo.findJobApplications(jobId, status, pageable);
+        Page<JobApplication> applications = archived
+                ? archivedApplicationRepo.findJobApplications(jobId, status, pageable).map(ArchivedJobApplication::toApplication)
+                : applicationRepo.findJobApplications(jobId, status, pageable);
 
         return applications.map(a -> mapToResponse(a,false, true));
     }
 
+    /**
+     * Keyset paginated variant of getMyJobApplications (candidate)
+     * @param cursor nextCursor of the previous slice, null for the first slice
+     * @param includeCount also run the COUNT query
+     * @return slice of applications, newest first
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<JobApplicationResponse> scrollMyJobApplications(String email, String statusFilter,
+                                                                      String cursor, boolean includeCount) {
+
+        CursorCodec.Cursor position = CursorCodec.decode(cursor);
+        CandidateProfile candidateProfile = candidateProfileRepo.findByUserEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Candidate profile not found"));
+
+        JobApplication.Status status = parseStatus(statusFilter);
+
+        List<Long> ids = applicationRepo.findCandidateApplicationIdsAfter(
+                candidateProfile.getId(),
+                status != null ? status.name() : null,
+                position != null ? position.timestamp() : null,
+                position != null ? position.id() : null,
+                PageRequest.of(0, PAGE_SIZE + 1));
+        List<JobApplication> applications = loadApplications(ids);
+
+        Long total = includeCount
+                ? applicationRepo.countCandidateApplications(candidateProfile.getId(), status)
+                + archivedApplicationRepo.countCandidateApplications(candidateProfile.getId(), status)
+                : null;
+
+        return CursorPage.of(applications, PAGE_SIZE, this::cursorOf, a -> mapToResponse(a, true, false), total);
+    }
+
+    /**
+     * Keyset paginated variant of getJobApplications (recruiter)
+     * @param cursor nextCursor of the previous slice, null for the first slice
+     * @param includeCount also run the COUNT query
+     * @return slice of applications for the job, newest first
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<JobApplicationResponse> scrollJobApplications(String email, Long jobId, String statusFilter,
+                                                                    String cursor, boolean includeCount) {
+
+        CursorCodec.Cursor position = CursorCodec.decode(cursor);
+        RecruiterProfile recruiterProfile = recruiterProfileRepo.findByUserEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Recruiter Profile not found"));
+
+        boolean archived = checkJobOwner(jobId, recruiterProfile);
+
+        JobApplication.Status status = parseStatus(statusFilter);
+        LocalDateTime cursorDate = position != null ? position.timestamp() : null;
+        Long cursorId = position != null ? position.id() : null;
+
+        List<JobApplication> applications = archived
+                ? archivedApplicationRepo.findJobApplicationsAfter(jobId, status, cursorDate, cursorId, PageRequest.of(0, PAGE_SIZE + 1))
+                        .stream().map(ArchivedJobApplication::toApplication).toList()
+                : applicationRepo.findJobApplicationsAfter(jobId, status, cursorDate, cursorId, PageRequest.of(0, PAGE_SIZE + 1));
+
+        Long total = !includeCount ? null
+                : archived ? archivedApplicationRepo.countJobApplications(jobId, status)
+                : applicationRepo.countJobApplications(jobId, status);
+
+        return CursorPage.of(applications, PAGE_SIZE, this::cursorOf, a -> mapToResponse(a, false, true), total);
+    }
+
     /**
      * Get view detailed application (both recruiters and candidates)
      * @param email user email
@@ -158,7 +244,7 @@ public class JobApplicationService {
     @Transactional(readOnly = true)
     public JobApplicationResponse getApplicationById(String email, Long applicationId, String userRole) {
 
-        JobApplication application = applicationRepo.findById(applicationId)
+        JobApplication application = applicationRepo.findDetailedById(applicationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Application not found"));
 
         // Verify authorization based on role
@@ -202,7 +288,7 @@ public class JobApplicationService {
         RecruiterProfile recruiter = recruiterProfileRepo.findByUserEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Recruiter profile not found"));
 
-        JobApplication application = applicationRepo.findById(applicationId)
+        JobApplication application = applicationRepo.findDetailedById(applicationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Application not found"));
 
         if (!application.getJob().getRecruiterProfile().getId().equals(recruiter.getId())) {
@@ -228,6 +314,43 @@ public class JobApplicationService {
     }
 
     //Helper methods
+
+    /**
+     * Checks that the recruiter posted the job, live or archived. A job is archived together with all its
+     * applications, so its applications are all in the same table as the job.
+     * @return true if the job is archived
+     */
+    private boolean checkJobOwner(Long jobId, RecruiterProfile recruiterProfile) {
+        Optional<Job> job = jobRepo.findById(jobId);
+        Long ownerId = job.isPresent()
+                ? job.get().getRecruiterProfile().getId()
+                : archivedJobRepo.findById(jobId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Job not found"))
+                        .getRecruiterProfile().getId();
+
+        //check if recruiter is accessing only his own job applicants
+        if (!ownerId.equals(recruiterProfile.getId())) {
+            throw new UnauthorizedException("You can only view your job applications");
+        }
+        return job.isEmpty();
+    }
+
+    //live and archived applications by id, in the order of ids. Ids missing from applications were archived
+    private List<JobApplication> loadApplications(List<Long> ids) {
+        Map<Long, JobApplication> byId = new HashMap<>();
+        applicationRepo.findWithJobByIdIn(ids).forEach(a -> byId.put(a.getId(), a));
+        if (byId.size() < ids.size()) {
+            List<Long> archived = ids.stream().filter(id -> !byId.containsKey(id)).toList();
+            archivedApplicationRepo.findWithJobByIdIn(archived).forEach(a -> byId.put(a.getId(), a.toApplication()));
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private boolean isUniqueViolation(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+    }
+
     private JobApplicationResponse mapToResponse(
             JobApplication application,
             boolean includeJobInfo,
@@ -270,6 +393,10 @@ public class JobApplicationService {
         return builder.build();
     }
 
+    private String cursorOf(JobApplication application) {
+        return CursorCodec.encode(application.getAppliedDate(), application.getId());
+    }
+
     private JobApplication.Status parseStatus(String statusFilter){
         if(statusFilter == null || statusFilter.isEmpty()){
             return null;
@@ -0,0 +1,124 @@
+package api.techhatch.com.service;
+
+import api.techhatch.com.model.Job;
+import api.techhatch.com.repository.ArchivedJobApplicationRepo;
+import api.techhatch.com.repository.ArchivedJobRepo;
+import api.techhatch.com.repository.JobApplicationRepo;
+import api.techhatch.com.repository.JobRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves cold jobs (CLOSED or EXPIRED and untouched for jobs.archive.after) and their applications into
+ * jobs_archive and applications_archive, so the indexes of the operational tables only cover hot rows.
+ * Runs every jobs.archive.interval in chunks of jobs.archive.chunk-size jobs, each chunk is copied and deleted in
+ * one short transaction. A job counts as cold only once its applications have not been submitted or updated for
+ * jobs.archive.after either. Reads of single jobs, of a recruiter's jobs and applications and of a candidate's
+ * applications fall back to the archive.
+ */
+@Component
+@Slf4j
+public class JobArchiver {
+
+    private static final List<Job.JobStatus> COLD_STATUSES = List.of(Job.JobStatus.CLOSED, Job.JobStatus.EXPIRED);
+
+    private final JobRepo jobRepo;
+    private final JobApplicationRepo applicationRepo;
+    private final ArchivedJobRepo archivedJobRepo;
+    private final ArchivedJobApplicationRepo archivedApplicationRepo;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final Duration archiveAfter;
+    private final int chunkSize;
+
+    private final Counter archivedJobs;
+    private final Counter archivedApplications;
+    private final Timer runTimer;
+
+    public JobArchiver(JobRepo jobRepo,
+                       JobApplicationRepo applicationRepo,
+                       ArchivedJobRepo archivedJobRepo,
+                       ArchivedJobApplicationRepo archivedApplicationRepo,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${jobs.archive.enabled:true}") boolean enabled,
+                       @Value("${jobs.archive.after:90d}") Duration archiveAfter,
+                       @Value("${jobs.archive.chunk-size:200}") int chunkSize) {
+        this.jobRepo = jobRepo;
+        this.applicationRepo = applicationRepo;
+        this.archivedJobRepo = archivedJobRepo;
+        this.archivedApplicationRepo = archivedApplicationRepo;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.archiveAfter = archiveAfter;
+        this.chunkSize = chunkSize;
+        this.archivedJobs = Counter.builder("jobs.archive.jobs")
+                .description("Jobs moved to jobs_archive")
+                .register(meterRegistry);
+        this.archivedApplications = Counter.builder("jobs.archive.applications")
+                .description("Applications moved to applications_archive")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("jobs.archive.run")
+                .description("Time of a whole archiving run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.archive.interval:1h}", initialDelayString = "${jobs.archive.initial-delay:5m}")
+    public void run() {
+        if (!enabled) return;
+        runTimer.record(this::archiveColdJobs);
+    }
+
+    /**
+     * @return number of jobs archived by this run
+     */
+    public long archiveColdJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(archiveAfter);
+        long archived = 0;
+        try {
+            for (Job.JobStatus status : COLD_STATUSES) {
+                while (true) {
+                    Integer chunk = tx.execute(s -> archiveChunk(status, cutoff, now));
+                    if (chunk == null || chunk == 0) break;
+                    archived += chunk;
+                    //archived jobs are gone from jobs, so the next chunk starts from the top again
+                    if (chunk < chunkSize) break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Job archiving failed after {} jobs, retrying next interval", archived, e);
+        }
+        if (archived > 0) log.info("Archived {} cold jobs", archived);
+        return archived;
+    }
+
+    //HELPER METHODS
+
+    private int archiveChunk(Job.JobStatus status, LocalDateTime cutoff, LocalDateTime now) {
+        List<Long> ids = jobRepo.lockColdJobs(status.name(), cutoff, chunkSize);
+        if (ids.isEmpty()) return 0;
+
+        //archive the parents first and delete the children first, applications reference their job on both sides
+        archivedJobRepo.copyFromJobs(ids, now);
+        int applications = archivedApplicationRepo.copyFromApplications(ids);
+        applicationRepo.deleteByJobIds(ids);
+        jobRepo.deleteSkillPostings(ids);
+        jobRepo.deleteAllByIdInBatch(ids);
+
+        archivedJobs.increment(ids.size());
+        archivedApplications.increment(applications);
+        return ids.size();
+    }
+}
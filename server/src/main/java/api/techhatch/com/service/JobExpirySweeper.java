@@ -0,0 +1,109 @@
+package api.techhatch.com.service;
+
+import api.techhatch.com.repository.JobRepo;
+import api.techhatch.com.search.JobChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves active jobs past their expiry date to EXPIRED.
+ * Every jobs.expiry.sweep-interval the due jobs are expired oldest first in chunks of jobs.expiry.chunk-size,
+ * one short transaction per chunk. Each chunk is published as one removal {@link JobChangedEvent}, so the
+ * search indexes and the search cache drop its jobs in one pass once the chunk commits.
+ */
+@Component
+@Slf4j
+public class JobExpirySweeper {
+
+    private final JobRepo jobRepo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final int chunkSize;
+
+    private final Counter expiredJobs;
+    private final Timer sweepTimer;
+    //how long the oldest due job had been waiting when the last sweep started
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public JobExpirySweeper(JobRepo jobRepo,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${jobs.expiry.enabled:true}") boolean enabled,
+                            @Value("${jobs.expiry.chunk-size:500}") int chunkSize) {
+        this.jobRepo = jobRepo;
+        this.eventPublisher = eventPublisher;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.expiredJobs = Counter.builder("jobs.expiry.expired")
+                .description("Jobs moved to EXPIRED by the expiry sweeper")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("jobs.expiry.sweep")
+                .description("Time of a whole expiry sweep")
+                .register(meterRegistry);
+        Gauge.builder("jobs.expiry.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Seconds the oldest due job was past its expiry date when the last sweep started")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.expiry.sweep-interval:1m}")
+    public void sweep() {
+        if (!enabled) return;
+        sweepTimer.record(this::expireDueJobs);
+    }
+
+    /**
+     * @return number of jobs expired by this sweep
+     */
+    public long expireDueJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime oldestDue = jobRepo.findOldestDueExpiry(now);
+        lagMillis.set(oldestDue == null ? 0 : Duration.between(oldestDue, now).toMillis());
+        if (oldestDue == null) return 0;
+
+        long expired = 0;
+        try {
+            while (true) {
+                Integer chunk = tx.execute(status -> expireChunk(now));
+                if (chunk == null || chunk == 0) break;
+                expired += chunk;
+                //jobs expired by a chunk no longer match, so the next chunk starts from the top again
+                if (chunk < chunkSize) break;
+            }
+        } catch (RuntimeException e) {
+            log.error("Job expiry sweep failed after {} jobs, retrying next interval", expired, e);
+        }
+        if (expired > 0) log.info("Expired {} jobs", expired);
+        return expired;
+    }
+
+    //HELPER METHODS
+
+    private int expireChunk(LocalDateTime now) {
+        List<Long> ids = jobRepo.findDueForExpiry(now, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) return 0;
+
+        expiredJobs.increment(jobRepo.expireJobs(ids, now));
+        //delivered after the chunk commits, a job closed meanwhile is removed from the indexes either way
+        eventPublisher.publishEvent(JobChangedEvent.removedAll(ids));
+        return ids.size();
+    }
+}
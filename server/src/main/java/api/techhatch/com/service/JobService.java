@@ -1,25 +1,63 @@
 package api.techhatch.com.service;
 
+import api.techhatch.com.cache.SearchKey;
+import api.techhatch.com.cache.CachedJobDetail;
+import api.techhatch.com.cache.JobDetailCache;
+import api.techhatch.com.cache.SearchResultCache;
+import api.techhatch.com.cache.SingleFlight;
 import api.techhatch.com.dto.request.JobCreateRequest;
 import api.techhatch.com.dto.request.JobSearchFilter;
+import api.techhatch.com.dto.response.CursorPage;
+import api.techhatch.com.dto.response.FacetedPage;
 import api.techhatch.com.dto.response.JobResponse;
+import api.techhatch.com.dto.response.JobSummaryResponse;
+import api.techhatch.com.dto.response.RecommendedJobResponse;
+import api.techhatch.com.dto.response.SuggestionResponse;
+import api.techhatch.com.exception.BadRequestException;
 import api.techhatch.com.exception.ResourceNotFoundException;
 import api.techhatch.com.exception.UnauthorizedException;
+import api.techhatch.com.geo.Gazetteer;
+import api.techhatch.com.geo.GeoCircle;
+import api.techhatch.com.geo.Place;
+import api.techhatch.com.model.ArchivedJob;
+import api.techhatch.com.model.CandidateProfile;
 import api.techhatch.com.model.Job;
 import api.techhatch.com.model.RecruiterProfile;
+import api.techhatch.com.recommendation.Recommendation;
+import api.techhatch.com.recommendation.RecommendationEngine;
+import api.techhatch.com.repository.ArchivedJobRepo;
+import api.techhatch.com.repository.CandidateProfileRepo;
 import api.techhatch.com.repository.JobRepo;
 import api.techhatch.com.repository.RecruiterProfileRepo;
 import api.techhatch.com.repository.UserRepo;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import api.techhatch.com.repository.projection.JobSummaryView;
+import api.techhatch.com.search.ActiveJobSnapshot;
+import api.techhatch.com.search.ActiveJobSnapshotIndex;
+import api.techhatch.com.search.JobChangedEvent;
+import api.techhatch.com.search.JobDocument;
+import api.techhatch.com.search.JobSearchIndex;
+import api.techhatch.com.search.JobSearchQuery;
+import api.techhatch.com.search.SearchHits;
+import api.techhatch.com.search.SearchMode;
+import api.techhatch.com.search.SearchSort;
+import api.techhatch.com.search.SuggestionIndex;
+import api.techhatch.com.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,16 +67,40 @@ public class JobService {
     private final RecruiterProfileRepo recruiterRepo;
     private final UserRepo userRepo;
     private final JobRepo jobRepo;
-    @Autowired
-    private final ObjectMapper objectMapper;
+    private final ArchivedJobRepo archivedJobRepo;
+    private final JobSearchIndex jobSearchIndex;
+    private final ActiveJobSnapshotIndex snapshotIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SearchResultCache searchResultCache;
+    private final JobDetailCache jobDetailCache;
+    private final PlatformTransactionManager transactionManager;
+    private final SkillDictionary skillDictionary;
+    private final CandidateProfileRepo candidateRepo;
+    private final RecommendationEngine recommendationEngine;
+    private final SuggestionIndex suggestionIndex;
+    private final Gazetteer gazetteer;
+    private final JobViewCounter jobViewCounter;
+
+    private final SingleFlight<Long, CachedJobDetail> jobByIdFlight = new SingleFlight<>();
+    private final SingleFlight<SearchKey, Page<JobSummaryResponse>> searchFlight = new SingleFlight<>();
+
+    @Value("${search.mode.default:index}")
+    private String defaultSearchMode;
+
+    @Value("${search.boolean.raw-syntax:false}")
+    private boolean rawBooleanSyntax;
 
     private static final int PAGE_SZE=25;
+    private static final long UNKNOWN_SKILL_ID = -1L;
+    private static final double DEFAULT_RADIUS_KM = 25;
+    private static final Pattern BOOLEAN_OPERATORS = Pattern.compile("[+\\-<>()~*\"@]");
 
     public JobResponse postJob(String email, JobCreateRequest request){
 
         RecruiterProfile recruiterProfile = recruiterRepo.findByUserEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
+        Optional<Place> place = placeOf(request.getLocation());
         Job job = Job.builder()
                 .recruiterProfile(recruiterProfile)
                 .title(request.getTitle())
@@ -46,18 +108,22 @@ public class JobService {
                 .requirements(request.getRequirements())
                 .responsibilities(request.getResponsibilities())
                 .location(request.getLocation())
+                .latitude(place.map(Place::latitude).orElse(null))
+                .longitude(place.map(Place::longitude).orElse(null))
                 .jobType(Job.JobType.valueOf(request.getJobType().toUpperCase()))
                 .workMode(request.getWorkMode() != null ? Job.WorkMode.valueOf(request.getWorkMode().toUpperCase()) : null)
                 .experienceLevel(Job.ExperienceLevel.valueOf(request.getExperienceLevel().toUpperCase()))
                 .salaryMin(request.getSalaryMin())
                 .salaryMax(request.getSalaryMax())
                 .currency(request.getCurrency() != null ? request.getCurrency() : "INR")
-                .requiredSkills(convertSkillsToJson(request.getRequiredSkills()))
+                .requiredSkills(cleanSkills(request.getRequiredSkills()))
+                .skillPostings(skillDictionary.resolve(request.getRequiredSkills()))
                 .jobStatus(Job.JobStatus.ACTIVE)
                 .expiryDate(request.getExpiryDate())
                 .build();
 
         Job savedJob = jobRepo.save(job);
+        publishJobChanged(savedJob);
         JobResponse response = mapToResponse(savedJob);
         response.setMessage("Job created and posted successfully");
         return response;
@@ -65,22 +131,52 @@ public class JobService {
 
     /**
      * Search job filters - Public
-     * @param filter - filters for specific jobs
+     * Returns job cards only, the full text comes from getJobById.
+     * Without a keyword only the structured filters apply, answered from the in-memory ActiveJobSnapshot.
+     * Index searches also return facet counts (job type, experience level, work mode, top locations) as a {@link FacetedPage}.
+     * Pages are served from {@link SearchResultCache}, equivalent filters share one entry.
+     * @param filter - filters for specific jobs, searchMode picks the backend and sortBy the ordering
      * @return job listing with filters applied
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Page<JobSummaryResponse> searchJobs(JobSearchFilter filter){
+
+        SearchKey key = new SearchKey(
+                filter.getKeyword(),
+                filter.getLocation(),
+                parseJobType(filter.getJobType()),
+                parseExperienceLevel(filter.getExperienceLevel()),
+                filter.getMinSalary(),
+                filter.getMaxSalary(),
+                filter.getFromDate(),
+                filter.getToDate(),
+                filter.getSkill(),
+                nearOf(filter),
+                filter.getPage(),
+                resolveSearchMode(filter.getSearchMode(), filter.getKeyword()),
+                parseSort(filter.getSortBy())
+        );
+        return searchResultCache.get(key, k -> searchFlight.execute(k, () -> loadSearchPage(k)));
+    }
+
+    /**
+     * Keyset paginated search, newest first - Public
+     * Costs the same at any depth since it seeks past the cursor instead of skipping rows.
+     * @param filter filters for specific jobs, page is ignored
+     * @param cursor nextCursor of the previous slice, null for the first slice
+     * @param includeCount also run the COUNT query, clients only need it once on the first slice
+     * @return slice of jobs with the cursor of the next slice
+     */
     @Transactional(readOnly = true)
-    public Page<JobResponse> searchJobs(JobSearchFilter filter){
+    public CursorPage<JobSummaryResponse> scrollJobs(JobSearchFilter filter, String cursor, boolean includeCount){
 
+        CursorCodec.Cursor position = CursorCodec.decode(cursor);
         Job.JobType jobType = parseJobType(filter.getJobType());
         Job.ExperienceLevel expLevel = parseExperienceLevel(filter.getExperienceLevel());
+        Long skillId = skillIdOf(filter.getSkill());
+        GeoCircle near = nearOf(filter);
 
-        Pageable pageable = PageRequest.of(
-                filter.getPage(),
-                PAGE_SZE,
-                Sort.by(Sort.Direction.DESC, "postedDate")
-        );
-
-        Page<Job> jobs = jobRepo.searchJobs(
+        List<JobSummaryView> jobs = jobRepo.searchJobsAfter(
                 filter.getKeyword(),
                 filter.getLocation(),
                 jobType,
@@ -89,20 +185,49 @@ public class JobService {
                 filter.getMaxSalary(),
                 filter.getFromDate(),
                 filter.getToDate(),
-                pageable
+                skillId,
+                near,
+                position != null ? position.timestamp() : null,
+                position != null ? position.id() : null,
+                PageRequest.of(0, PAGE_SZE + 1)
         );
-        return jobs.map(this::mapToResponse);
-    }
 
-    @Transactional(readOnly = true)
-    public JobResponse getJobById(Long id){
+        Long total = includeCount ? jobRepo.countSearchJobs(
+                filter.getKeyword(),
+                filter.getLocation(),
+                jobType,
+                expLevel,
+                filter.getMinSalary(),
+                filter.getMaxSalary(),
+                filter.getFromDate(),
+                filter.getToDate(),
+                skillId,
+                near
+        ) : null;
 
-         Job job = jobRepo.findById(id)
-                 .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+        return CursorPage.of(jobs, PAGE_SZE, this::cursorOf, this::mapToSummary, total);
+    }
 
-         JobResponse response = mapToResponse(job);
-         response.setMessage("Job fetched");
-         return response;
+    /**
+     * Get job details as the serialized response with its ETag, served from {@link JobDetailCache}.
+     * On a miss concurrent requests for the same job share one database load.
+     * Every call counts as a view, buffered in {@link JobViewCounter} and written to the job in batches.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CachedJobDetail getJobById(Long id){
+
+        CachedJobDetail details = jobDetailCache.get(id, jobId -> jobByIdFlight.execute(jobId, () -> inReadOnlyTransaction(() -> {
+            //jobs that went cold are served from the archive
+            Job job = jobRepo.findById(jobId)
+                    .or(() -> archivedJobRepo.findById(jobId).map(ArchivedJob::toJob))
+                    .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+
+            JobResponse response = mapToResponse(job);
+            response.setMessage("Job fetched");
+            return jobDetailCache.serialize(response, job.getUpdatedAt());
+        })));
+        jobViewCounter.record(id);
+        return details;
     }
 
     /**
@@ -115,15 +240,79 @@ public class JobService {
         RecruiterProfile recruiterProfile = recruiterRepo.findByUserEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Recruiter not found"));
 
-        Pageable pageable = PageRequest.of(
-                page,
-                PAGE_SZE,
-                Sort.by(Sort.Direction.DESC, "postedDate"));
+        //newest first, ordered by the query
+        Pageable pageable = PageRequest.of(page, PAGE_SZE);
+
+        //archived jobs are listed too, merged by posted date
+        Page<Long> ids = jobRepo.findRecruiterJobIds(recruiterProfile.getId(), pageable);
+
+        List<JobResponse> jobs = loadRecruiterJobs(ids.getContent()).stream().map(this::mapToResponse).toList();
+        return new PageImpl<>(jobs, pageable, ids.getTotalElements());
+    }
+
+    /**
+     * Keyset paginated variant of getMyJobs (Recruiter only)
+     * @return slice of jobs posted by the recruiter, newest first
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<JobResponse> scrollMyJobs(String email, String cursor, boolean includeCount){
+
+        CursorCodec.Cursor position = CursorCodec.decode(cursor);
+        RecruiterProfile recruiterProfile = recruiterRepo.findByUserEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Recruiter not found"));
+
+        List<Long> ids = jobRepo.findRecruiterJobIdsAfter(
+                recruiterProfile.getId(),
+                position != null ? position.timestamp() : null,
+                position != null ? position.id() : null,
+                PageRequest.of(0, PAGE_SZE + 1));
+        List<Job> jobs = loadRecruiterJobs(ids);
+
+        Long total = includeCount
+                ? jobRepo.countByRecruiterProfileId(recruiterProfile.getId())
+                + archivedJobRepo.countByRecruiterProfileId(recruiterProfile.getId())
+                : null;
 
-        //find jobs posted by recruiter
-        Page<Job> jobs = jobRepo.findByRecruiterProfileId(recruiterProfile.getId(), pageable);
+        return CursorPage.of(jobs, PAGE_SZE, this::cursorOf, this::mapToResponse, total);
+    }
 
-        return jobs.map(this::mapToResponse);
+    /**
+     * Recommended jobs of the candidate (Candidate only)
+     * Served from the precomputed lists of {@link RecommendationEngine}, nothing is scored at request time.
+     * @return best matching active jobs, best first
+     */
+    @Transactional(readOnly = true)
+    public List<RecommendedJobResponse> getRecommendedJobs(String email){
+
+        CandidateProfile candidate = candidateRepo.findByUserEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Candidate profile not found"));
+
+        List<RecommendedJobResponse> recommended = new ArrayList<>();
+        for (Recommendation recommendation : recommendationEngine.recommendationsFor(candidate.getId())) {
+            JobDocument job = recommendationEngine.jobOf(recommendation.jobId());
+            //closed after the list was computed and not yet merged out
+            if (job == null) continue;
+            recommended.add(RecommendedJobResponse.builder()
+                    .job(mapToSummary(job))
+                    .score(recommendation.score())
+                    .build());
+        }
+        return recommended;
+    }
+
+    /**
+     * Typeahead for the search box (Public)
+     * Answered from the in-memory {@link SuggestionIndex}, no database access.
+     * @return titles, skills, locations and companies having a word starting with the prefix, most used first
+     */
+    public List<SuggestionResponse> suggest(String prefix, int limit){
+        return suggestionIndex.suggest(prefix, limit).stream()
+                .map(suggestion -> SuggestionResponse.builder()
+                        .text(suggestion.text())
+                        .type(suggestion.type().name())
+                        .jobCount(suggestion.weight())
+                        .build())
+                .toList();
     }
 
     public JobResponse updateJob(String email, Long jobId, JobCreateRequest request){
@@ -144,15 +333,20 @@ public class JobService {
         job.setRequirements(request.getRequirements());
         job.setResponsibilities(request.getResponsibilities());
         job.setLocation(request.getLocation());
+        Optional<Place> place = placeOf(request.getLocation());
+        job.setLatitude(place.map(Place::latitude).orElse(null));
+        job.setLongitude(place.map(Place::longitude).orElse(null));
         job.setJobType(Job.JobType.valueOf(request.getJobType().toUpperCase()));
         job.setWorkMode(request.getWorkMode() != null ? Job.WorkMode.valueOf(request.getWorkMode().toUpperCase()) : null);
         job.setExperienceLevel(Job.ExperienceLevel.valueOf(request.getExperienceLevel().toUpperCase()));
         job.setSalaryMin(request.getSalaryMin());
         job.setSalaryMax(request.getSalaryMax());
-        job.setRequiredSkills(convertSkillsToJson(request.getRequiredSkills()));
+        job.setRequiredSkills(cleanSkills(request.getRequiredSkills()));
+        job.setSkillPostings(skillDictionary.resolve(request.getRequiredSkills()));
         if (request.getExpiryDate()!=null) job.setExpiryDate(request.getExpiryDate());
 
         Job updated = jobRepo.save(job);
+        publishJobChanged(updated);
 
         JobResponse response = mapToResponse(updated);
         response.setMessage("Job updated successfully");
@@ -178,6 +372,7 @@ public class JobService {
         job.setJobStatus(Job.JobStatus.CLOSED);
 
         Job savedJob = jobRepo.save(job);
+        publishJobChanged(savedJob);
         JobResponse response = mapToResponse(savedJob);
         response.setMessage("Job closed successfully");
         return response;
@@ -199,10 +394,230 @@ public class JobService {
         }
         //delete the job
         jobRepo.delete(job);
+        eventPublisher.publishEvent(JobChangedEvent.removed(jobId));
     }
 
     //HELPER METHODS
 
+    //cache loader, also runs on the cache refresh threads so it opens its own read-only transaction
+    private Page<JobSummaryResponse> loadSearchPage(SearchKey key) {
+        return inReadOnlyTransaction(() -> executeSearch(key));
+    }
+
+    //only the single-flight leader opens a transaction, waiters do not hold a pooled connection
+    private <T> T inReadOnlyTransaction(Supplier<T> work) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> work.get());
+    }
+
+    private Page<JobSummaryResponse> executeSearch(SearchKey key) {
+
+        //native FULLTEXT queries carry their own ORDER BY, so the pageable stays unsorted
+        Pageable unsorted = PageRequest.of(key.page(), PAGE_SZE);
+
+        Page<JobSummaryResponse> result = executeSearch(key, unsorted);
+        //misspelled keywords ("kubernates") find nothing in SQL, the index retries them typo tolerant
+        if (key.mode() != SearchMode.INDEX && key.mode() != SearchMode.FILTER
+                && jobSearchIndex.shouldRetryFuzzy(result.getTotalElements())) {
+            SearchHits hits = jobSearchIndex.search(toQuery(key), key.sort(), key.page(), PAGE_SZE);
+            if (hits.totalHits() > result.getTotalElements()) {
+                return new FacetedPage<>(findSummariesInOrder(hits.jobIds()), unsorted, hits.totalHits(), hits.facets());
+            }
+        }
+        return result;
+    }
+
+    private Page<JobSummaryResponse> executeSearch(SearchKey key, Pageable unsorted) {
+
+        return switch (key.mode()) {
+            case INDEX -> {
+                SearchHits hits = jobSearchIndex.search(toQuery(key), key.sort(), key.page(), PAGE_SZE);
+                yield new FacetedPage<>(findSummariesInOrder(hits.jobIds()), unsorted, hits.totalHits(), hits.facets());
+            }
+            case NATURAL -> withSummaries(jobRepo.searchJobsNaturalLanguage(
+                    key.keyword(),
+                    key.location(),
+                    key.jobType() != null ? key.jobType().name() : null,
+                    key.experienceLevel() != null ? key.experienceLevel().name() : null,
+                    key.minSalary(),
+                    key.maxSalary(),
+                    key.fromDate(),
+                    key.toDate(),
+                    skillIdOf(key.skill()),
+                    key.near(),
+                    key.sort().name(),
+                    unsorted
+            ));
+            case BOOLEAN -> withSummaries(jobRepo.searchJobsBooleanMode(
+                    toBooleanQuery(key.keyword()),
+                    key.location(),
+                    key.jobType() != null ? key.jobType().name() : null,
+                    key.experienceLevel() != null ? key.experienceLevel().name() : null,
+                    key.minSalary(),
+                    key.maxSalary(),
+                    key.fromDate(),
+                    key.toDate(),
+                    skillIdOf(key.skill()),
+                    key.near(),
+                    key.sort().name(),
+                    unsorted
+            ));
+            case FILTER -> {
+                ActiveJobSnapshot.FilterHits hits = snapshotIndex.current().filter(toQuery(key), key.page(), PAGE_SZE);
+                List<JobSummaryResponse> content = hits.jobs().stream()
+                        .map(this::mapToSummary)
+                        .toList();
+                yield new PageImpl<>(content, unsorted, hits.totalHits());
+            }
+            //LIKE has no relevance score, results are always newest first
+            case LIKE -> jobRepo.searchJobs(
+                    key.keyword(),
+                    key.location(),
+                    key.jobType(),
+                    key.experienceLevel(),
+                    key.minSalary(),
+                    key.maxSalary(),
+                    key.fromDate(),
+                    key.toDate(),
+                    skillIdOf(key.skill()),
+                    key.near(),
+                    PageRequest.of(key.page(), PAGE_SZE, Sort.by(Sort.Direction.DESC, "postedDate"))
+            ).map(this::mapToSummary);
+        };
+    }
+
+    private Optional<Place> placeOf(String location) {
+        return gazetteer.resolve(location);
+    }
+
+    //"near" must name a known place, a misspelled place would otherwise silently drop the radius filter
+    private GeoCircle nearOf(JobSearchFilter filter) {
+        if (filter.getNear() == null || filter.getNear().isBlank()) return null;
+        Place place = placeOf(filter.getNear())
+                .orElseThrow(() -> new BadRequestException("Unknown location: " + filter.getNear()));
+        double radiusKm = filter.getRadiusKm() != null ? filter.getRadiusKm() : DEFAULT_RADIUS_KM;
+        if (radiusKm <= 0 || radiusKm > GeoCircle.MAX_RADIUS_KM) {
+            throw new BadRequestException("radiusKm must be between 0 and " + (int) GeoCircle.MAX_RADIUS_KM);
+        }
+        return new GeoCircle(place.latitude(), place.longitude(), radiusKm);
+    }
+
+    //SQL modes filter on skill postings, a skill missing from the dictionary gets an id no posting has
+    private Long skillIdOf(String skill) {
+        if (skill == null) return null;
+        return skillDictionary.idOf(skill).orElse(UNKNOWN_SKILL_ID);
+    }
+
+    private JobSearchQuery toQuery(SearchKey key) {
+        return new JobSearchQuery(
+                key.keyword(),
+                key.location(),
+                key.jobType(),
+                key.experienceLevel(),
+                key.minSalary(),
+                key.maxSalary(),
+                key.fromDate(),
+                key.toDate(),
+                key.skill(),
+                key.near()
+        );
+    }
+
+    //the in-memory indexes answer only once they are built, until then (or when disabled) LIKE is the fallback
+    private SearchMode resolveSearchMode(String searchMode, String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return snapshotIndex.isReady() ? SearchMode.FILTER : SearchMode.LIKE;
+        }
+        SearchMode mode = parseSearchMode(searchMode);
+        //FILTER ignores the keyword, it is only picked for keyword-less searches
+        if (mode == SearchMode.FILTER) mode = null;
+        if (mode == null) mode = parseSearchMode(defaultSearchMode);
+        if (mode == null) mode = SearchMode.INDEX;
+        if (mode == SearchMode.INDEX && !jobSearchIndex.isReady()) {
+            return SearchMode.LIKE;
+        }
+        return mode;
+    }
+
+    private SearchMode parseSearchMode(String searchMode) {
+        if (searchMode == null || searchMode.isEmpty()) {
+            return null;
+        }
+        try {
+            return SearchMode.valueOf(searchMode.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;  // Invalid search mode - use the default
+        }
+    }
+
+    private SearchSort parseSort(String sortBy) {
+        if (sortBy != null && sortBy.equalsIgnoreCase("postedDate")) {
+            return SearchSort.POSTED_DATE;
+        }
+        return SearchSort.RELEVANCE;
+    }
+
+    /**
+     * Every word becomes "+word*" so every word has to match, as with LIKE. Boolean operators typed by the user
+     * (+ - < > ( ) ~ * " @) are treated as word separators, a word they split ("front-end") becomes a quoted phrase.
+     * Raw boolean syntax is only passed through when search.boolean.raw-syntax is enabled.
+     */
+    private String toBooleanQuery(String keyword) {
+        if (rawBooleanSyntax && BOOLEAN_OPERATORS.matcher(keyword).find()) {
+            return keyword;
+        }
+        StringJoiner query = new StringJoiner(" ");
+        for (String word : keyword.trim().split("\\s+")) {
+            String[] parts = BOOLEAN_OPERATORS.matcher(word).replaceAll(" ").trim().split("\\s+");
+            if (parts[0].isEmpty()) continue;
+            query.add(parts.length == 1 ? "+" + parts[0] + "*" : "+\"" + String.join(" ", parts) + "\"");
+        }
+        return query.toString();
+    }
+
+    //search indexes pick the change up once the surrounding transaction commits
+    private void publishJobChanged(Job job) {
+        JobDocument document = JobDocument.from(job);
+        eventPublisher.publishEvent(JobChangedEvent.upserted(document));
+    }
+
+    private String cursorOf(Job job) {
+        return CursorCodec.encode(job.getPostedDate(), job.getId());
+    }
+
+    private String cursorOf(JobSummaryView job) {
+        return CursorCodec.encode(job.postedDate(), job.id());
+    }
+
+    //live and archived jobs by id, in the order of ids. Ids missing from jobs were archived
+    private List<Job> loadRecruiterJobs(List<Long> ids) {
+        Map<Long, Job> byId = new HashMap<>();
+        jobRepo.findAllById(ids).forEach(job -> byId.put(job.getId(), job));
+        if (byId.size() < ids.size()) {
+            List<Long> archived = ids.stream().filter(id -> !byId.containsKey(id)).toList();
+            archivedJobRepo.findAllById(archived).forEach(job -> byId.put(job.getId(), job.toJob()));
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    //FULLTEXT queries return a page of ranked ids, swap them for their cards
+    private Page<JobSummaryResponse> withSummaries(Page<Long> ids) {
+        return new PageImpl<>(findSummariesInOrder(ids.getContent()), ids.getPageable(), ids.getTotalElements());
+    }
+
+    //loads job cards by id keeping the ranking order of the ids
+    private List<JobSummaryResponse> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, JobSummaryView> byId = jobRepo.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(JobSummaryView::id, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToSummary)
+                .toList();
+    }
+
     private Job.JobType parseJobType(String jobType) {
         if (jobType == null || jobType.isEmpty()) {
             return null;
@@ -269,7 +684,7 @@ public class JobService {
                 .salaryMax(job.getSalaryMax())
                 .currency(job.getCurrency())
                 .salaryRange(formatSalaryRange(job.getSalaryMin(), job.getSalaryMax(), job.getCurrency()))
-                .requiredSkills(convertJsonToSkills(job.getRequiredSkills()))
+                .requiredSkills(job.getRequiredSkills())
                 .status(job.getJobStatus().toString())
                 .postedDate(job.getPostedDate().toString())
                 .expiryDate(job.getExpiryDate().toString())
@@ -284,26 +699,61 @@ public class JobService {
                 .build();
     }
 
-    private String convertSkillsToJson(List<String> skills) {
-        if (skills == null || skills.isEmpty()) {
-            return "[]";
-        }
-        try {
-            return objectMapper.writeValueAsString(skills);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to convert skills to JSON", e);
-        }
+    private JobSummaryResponse mapToSummary(JobSummaryView job) {
+        return JobSummaryResponse.builder()
+                .id(job.id())
+                .title(job.title())
+                .location(job.location())
+                .jobType(job.jobType().toString())
+                .workMode(job.workMode() != null ? job.workMode().toString() : null)
+                .experienceLevel(job.experienceLevel().toString())
+                .salaryMin(job.salaryMin())
+                .salaryMax(job.salaryMax())
+                .currency(job.currency())
+                .salaryRange(formatSalaryRange(job.salaryMin(), job.salaryMax(), job.currency()))
+                .requiredSkills(job.requiredSkills())
+                .status(job.status().toString())
+                .postedDate(job.postedDate().toString())
+                .expiryDate(job.expiryDate().toString())
+                .company(JobResponse.CompanyInfo.builder()
+                        .recruiterId(job.recruiterId())
+                        .companyName(job.companyName())
+                        .companyLogoUrl(job.companyLogoUrl())
+                        .build())
+                .build();
     }
 
-    private List<String> convertJsonToSkills(String json) {
-        if (json == null || json.isEmpty()) {
-            return Collections.emptyList();
-        }
-        try {
-            return Arrays.asList(objectMapper.readValue(json, String[].class));
-        } catch (JsonProcessingException e) {
-            return Collections.emptyList();
-        }
+    private JobSummaryResponse mapToSummary(JobDocument job) {
+        return JobSummaryResponse.builder()
+                .id(job.id())
+                .title(job.title())
+                .location(job.location())
+                .jobType(job.jobType().toString())
+                .workMode(job.workMode() != null ? job.workMode().toString() : null)
+                .experienceLevel(job.experienceLevel().toString())
+                .salaryMin(job.salaryMin())
+                .salaryMax(job.salaryMax())
+                .currency(job.currency())
+                .salaryRange(formatSalaryRange(job.salaryMin(), job.salaryMax(), job.currency()))
+                .requiredSkills(job.requiredSkills())
+                .status(job.status().toString())
+                .postedDate(job.postedDate().toString())
+                .expiryDate(job.expiryDate().toString())
+                .company(JobResponse.CompanyInfo.builder()
+                        .recruiterId(job.recruiterId())
+                        .companyName(job.companyName())
+                        .companyLogoUrl(job.companyLogoUrl())
+                        .build())
+                .build();
+    }
+
+    //skills are stored as entered, minus blank entries
+    private List<String> cleanSkills(List<String> skills) {
+        if (skills == null) return List.of();
+        return skills.stream()
+                .filter(skill -> skill != null && !skill.isBlank())
+                .map(String::trim)
+                .toList();
     }
 
 }
@@ -0,0 +1,131 @@
+package api.techhatch.com.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind view counter for job detail reads.
+ * A view only bumps a striped in-memory counter, the counts are added to jobs.view_count every
+ * jobs.view-count.flush-interval with one UPDATE per chunk of jobs. A crash loses at most one interval of views.
+ */
+@Component
+@Slf4j
+public class JobViewCounter {
+
+    //ids per UPDATE statement, two placeholders each in the CASE and one in the IN list
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter viewsRecorded;
+    private final Counter flushFailures;
+    private final Timer flushTimer;
+
+    public JobViewCounter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.viewsRecorded = Counter.builder("jobs.views.recorded")
+                .description("Job detail views counted in memory")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("jobs.views.flush.failures")
+                .description("View count flushes that failed and were kept for the next run")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("jobs.views.flush")
+                .description("Time to write the buffered view counts to the jobs table")
+                .register(meterRegistry);
+        Gauge.builder("jobs.views.pending", this, JobViewCounter::pendingViews)
+                .description("Views counted but not yet written to the jobs table")
+                .register(meterRegistry);
+    }
+
+    public void record(Long jobId) {
+        pending.computeIfAbsent(jobId, id -> new LongAdder()).increment();
+        viewsRecorded.increment();
+    }
+
+    public long pendingViews() {
+        long total = 0;
+        for (LongAdder adder : pending.values()) total += adder.sum();
+        return total;
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.view-count.flush-interval:10s}")
+    public void flush() {
+        Map<Long, Long> deltas = drain();
+        if (deltas.isEmpty()) return;
+        flushTimer.record(() -> write(deltas));
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    //HELPER METHODS
+
+    private Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            //sumThenReset swaps every cell to zero, views landing meanwhile stay for the next flush
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                deltas.put(entry.getKey(), delta);
+            } else {
+                //idle for a whole interval, a view racing with this removal is the only one that can be dropped
+                pending.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        return deltas;
+    }
+
+    private void write(Map<Long, Long> deltas) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+        for (int from = 0; from < entries.size(); from += FLUSH_CHUNK_SIZE) {
+            List<Map.Entry<Long, Long>> chunk = entries.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, entries.size()));
+            try {
+                jdbcTemplate.update(updateStatement(chunk.size()), arguments(chunk));
+            } catch (RuntimeException e) {
+                //give the views back, they are retried with the next flush
+                chunk.forEach(entry -> pending.computeIfAbsent(entry.getKey(), id -> new LongAdder()).add(entry.getValue()));
+                flushFailures.increment();
+                log.warn("Could not flush view counts of {} jobs, retrying next interval", chunk.size(), e);
+            }
+        }
+    }
+
+    //updated_at is kept, a view is not a change of the job
+    private static String updateStatement(int jobs) {
+        StringBuilder sql = new StringBuilder("UPDATE jobs SET updated_at = updated_at, view_count = COALESCE(view_count, 0) + CASE id");
+        sql.append(" WHEN ? THEN ?".repeat(jobs));
+        sql.append(" END WHERE id IN (");
+        sql.append("?, ".repeat(jobs - 1)).append("?)");
+        return sql.toString();
+    }
+
+    private static Object[] arguments(List<Map.Entry<Long, Long>> chunk) {
+        Object[] args = new Object[chunk.size() * 3];
+        int i = 0;
+        for (Map.Entry<Long, Long> entry : chunk) {
+            args[i++] = entry.getKey();
+            args[i++] = entry.getValue();
+        }
+        for (Map.Entry<Long, Long> entry : chunk) {
+            args[i++] = entry.getKey();
+        }
+        return args;
+    }
+}
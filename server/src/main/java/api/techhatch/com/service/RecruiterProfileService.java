@@ -1,5 +1,6 @@
 package api.techhatch.com.service;
 
+import api.techhatch.com.cache.RecruiterProfileChangedEvent;
 import api.techhatch.com.dto.request.RecruiterProfileRequest;
 import api.techhatch.com.dto.response.RecruiterProfileResponse;
 import api.techhatch.com.exception.ResourceNotFoundException;
@@ -8,6 +9,7 @@ import api.techhatch.com.model.Users;
 import api.techhatch.com.repository.RecruiterProfileRepo;
 import api.techhatch.com.repository.UserRepo;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -19,6 +21,7 @@ public class RecruiterProfileService {
 
     private final RecruiterProfileRepo recruiterRepo;
     private final UserRepo userRepo;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Service to create/update recruiter profile
@@ -41,6 +44,7 @@ public class RecruiterProfileService {
         updateProfileFields(recruiterProfile,request);
 
         RecruiterProfile savedProfile = recruiterRepo.save(recruiterProfile);
+        eventPublisher.publishEvent(new RecruiterProfileChangedEvent(savedProfile.getId()));
 
         return mapToResponse(recruiterProfile,"Profile Updated");
     }
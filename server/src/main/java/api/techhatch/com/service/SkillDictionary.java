@@ -0,0 +1,97 @@
+package api.techhatch.com.service;
+
+import api.techhatch.com.model.Skill;
+import api.techhatch.com.repository.SkillRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Normalized skill dictionary, interns skill names to ids.
+ * Ids never change once assigned, so name -> id lookups are cached for the lifetime of the application.
+ * Only committed ids are cached, ids inserted by a transaction are cached once it commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class SkillDictionary {
+
+    private final SkillRepo skillRepo;
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+
+    /**
+     * Resolves skill names to dictionary entries, adding the names seen for the first time
+     * @param names skill names as entered, blanks and duplicates are ignored
+     * @return managed skills to store as postings
+     */
+    @Transactional
+    public Set<Skill> resolve(List<String> names) {
+        Map<String, String> byNormalized = new LinkedHashMap<>();
+        if (names != null) {
+            for (String name : names) {
+                String normalized = Skill.normalize(name);
+                if (normalized != null) byNormalized.putIfAbsent(normalized, name.trim());
+            }
+        }
+        if (byNormalized.isEmpty()) return new HashSet<>();
+
+        Set<Skill> skills = new HashSet<>();
+        List<String> unknown = new ArrayList<>();
+        byNormalized.keySet().forEach(normalized -> {
+            Long id = idsByName.get(normalized);
+            if (id != null) skills.add(skillRepo.getReferenceById(id));
+            else unknown.add(normalized);
+        });
+
+        if (!unknown.isEmpty()) {
+            unknown.forEach(normalized -> skillRepo.insertIfAbsent(byNormalized.get(normalized), normalized));
+            List<Skill> resolved = skillRepo.findLatestByNormalizedNameIn(unknown);
+            if (resolved.size() < unknown.size()) {
+                throw new IllegalStateException("Resolved " + resolved.size() + " of the skills " + unknown);
+            }
+            Map<String, Long> ids = new HashMap<>();
+            for (Skill skill : resolved) {
+                ids.put(skill.getNormalizedName(), skill.getId());
+                skills.add(skill);
+            }
+            rememberAfterCommit(ids);
+        }
+        return skills;
+    }
+
+    /**
+     * @return id of the skill, empty when no job or candidate has ever used it
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> idOf(String name) {
+        String normalized = Skill.normalize(name);
+        if (normalized == null) return Optional.empty();
+
+        Long cached = idsByName.get(normalized);
+        if (cached != null) return Optional.of(cached);
+        return skillRepo.findByNormalizedName(normalized).map(skill -> {
+            rememberAfterCommit(Map.of(normalized, skill.getId()));
+            return skill.getId();
+        });
+    }
+
+    //HELPER METHODS
+
+    //a rolled back insert must not leave its id behind, later postings would reference a missing skill
+    private void rememberAfterCommit(Map<String, Long> ids) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            idsByName.putAll(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                idsByName.putAll(ids);
+            }
+        });
+    }
+}
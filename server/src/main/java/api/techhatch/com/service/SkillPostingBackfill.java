@@ -0,0 +1,115 @@
+package api.techhatch.com.service;
+
+import api.techhatch.com.cache.SearchResultCache;
+import api.techhatch.com.model.CandidateProfile;
+import api.techhatch.com.model.Job;
+import api.techhatch.com.repository.CandidateProfileRepo;
+import api.techhatch.com.repository.JobRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * Fills job_skills and candidate_skills for jobs and candidates saved before the skill dictionary existed, whose
+ * skills only live in the JSON columns (the SQL skill filter would never find them).
+ * Runs once on startup in id-ordered chunks, one short transaction per chunk, jobs and candidates that already have
+ * postings are skipped so it is a no-op once the data is migrated.
+ */
+@Component
+@Slf4j
+public class SkillPostingBackfill {
+
+    private final JobRepo jobRepo;
+    private final CandidateProfileRepo candidateRepo;
+    private final SkillDictionary skillDictionary;
+    private final SearchResultCache searchResultCache;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final int chunkSize;
+
+    public SkillPostingBackfill(JobRepo jobRepo,
+                                CandidateProfileRepo candidateRepo,
+                                SkillDictionary skillDictionary,
+                                SearchResultCache searchResultCache,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${skills.backfill.enabled:true}") boolean enabled,
+                                @Value("${skills.backfill.chunk-size:500}") int chunkSize) {
+        this.jobRepo = jobRepo;
+        this.candidateRepo = candidateRepo;
+        this.skillDictionary = skillDictionary;
+        this.searchResultCache = searchResultCache;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!enabled) return;
+        Thread.ofVirtual().name("skill-posting-backfill").start(this::backfill);
+    }
+
+    public void backfill() {
+        try {
+            long jobs = backfill(afterId -> jobRepo.findWithoutSkillPostingsAfter(afterId, PageRequest.of(0, chunkSize)),
+                    Job::getId, job -> {
+                        job.setSkillPostings(skillDictionary.resolve(job.getRequiredSkills()));
+                        return !job.getSkillPostings().isEmpty();
+                    });
+            long candidates = backfill(afterId -> candidateRepo.findWithoutSkillPostingsAfter(afterId, PageRequest.of(0, chunkSize)),
+                    CandidateProfile::getId, candidate -> {
+                        candidate.setSkillPostings(skillDictionary.resolve(candidate.getSkills()));
+                        return !candidate.getSkillPostings().isEmpty();
+                    });
+            //cached SQL searches filtered by skill missed the backfilled jobs
+            if (jobs > 0) searchResultCache.invalidateAll();
+            if (jobs > 0 || candidates > 0) {
+                log.info("Backfilled skill postings of {} jobs and {} candidates", jobs, candidates);
+            }
+        } catch (RuntimeException e) {
+            log.error("Skill posting backfill failed, retrying on next startup", e);
+        }
+    }
+
+    //HELPER METHODS
+
+    /**
+     * @param chunkAfter next chunk of rows without postings after the given id
+     * @param post sets the postings of a row, true if it got any
+     * @return number of rows that got postings
+     */
+    private <T> long backfill(LongFunction<List<T>> chunkAfter, Function<T, Long> idOf, Predicate<T> post) {
+        long posted = 0;
+        long lastId = 0;
+        while (true) {
+            final long afterId = lastId;
+            ChunkResult chunk = tx.execute(status -> {
+                List<T> rows = chunkAfter.apply(afterId);
+                int count = 0;
+                for (T row : rows) {
+                    if (post.test(row)) count++;
+                }
+                //a short chunk is the last one
+                return new ChunkResult(rows.size() < chunkSize ? null : idOf.apply(rows.getLast()), count);
+            });
+            if (chunk == null) return posted;
+            posted += chunk.posted();
+            if (chunk.lastId() == null) return posted;
+            lastId = chunk.lastId();
+        }
+    }
+
+    //lastId is null once the scan is done
+    private record ChunkResult(Long lastId, int posted) {
+    }
+}
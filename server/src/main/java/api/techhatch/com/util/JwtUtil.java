@@ -1,73 +1,112 @@
 package api.techhatch.com.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.UUID;
 
+/**
+ * Issues and verifies the HS256 tokens of the API.
+ * The key is decoded and the parser built once, the parser is immutable and shared by all requests.
+ * Verified tokens are kept in a bounded LRU until their exp, so a client reusing its token skips the HMAC check.
+ * Hit, miss and eviction counts are published as the cache.* meters of "verifiedTokens".
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String SECRET_KEY;
+    private static final String CACHE_NAME = "verifiedTokens";
 
-    @Value("${jwt.expiration}")
-    private Long EXPIRATION_TIME;
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final Long expirationTime;
+    //null when jwt.verified-cache.maximum-size is 0
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtUtil(@Value("${jwt.secret}") String secretKey,
+                   @Value("${jwt.expiration}") Long expirationTime,
+                   @Value("${jwt.verified-cache.maximum-size:10000}") long verifiedCacheSize,
+                   MeterRegistry meterRegistry) {
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.expirationTime = expirationTime;
+        if (verifiedCacheSize > 0) {
+            this.verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheSize)
+                    .expireAfter(Expiry.<String, VerifiedToken>creating(
+                            (token, verified) -> Duration.between(Instant.now(), verified.expiresAt())))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, CACHE_NAME);
+        } else {
+            this.verifiedTokens = null;
+        }
+    }
 
     public String generateToken(String email, String role, Long userId){
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(email)
                 .claim("role",role)
                 .claim("userId",userId)
                 .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getKey(), Jwts.SIG.HS256)
+                .expiration(new Date(System.currentTimeMillis() + expirationTime))
+                .signWith(key, Jwts.SIG.HS256)
                 .compact();
     }
 
-    SecretKey getKey(){
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+    /**
+     * Checks signature and expiry of the token, at most once per token while it is cached
+     * @param token compact JWT without the Bearer prefix
+     * @return claims of the token
+     * @throws io.jsonwebtoken.JwtException when the token is malformed, expired or not signed with our key
+     */
+    public VerifiedToken verify(String token) {
+        if (verifiedTokens == null) return parse(token);
 
-    public boolean validateToken(String token, UserDetails userDetails){
-        String email = getEmailFromToken(token);
-        return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
+        //entries expire at the exp of their token, a hit is always a token that is still valid
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) return cached;
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        VerifiedToken verified = parse(token);
+        verifiedTokens.put(token, verified);
+        return verified;
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean validateToken(VerifiedToken token, UserDetails userDetails){
+        return token.email().equals(userDetails.getUsername()) && token.expiresAt().isAfter(Instant.now());
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimResolver.apply(claims);
+    public String getEmailFromToken(String token){
+        return verify(token).email();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public String getRoleFromToken(String token){
+        return verify(token).role();
     }
 
-    public String getEmailFromToken(String token){
-        return extractClaim(token,Claims::getSubject);
-    }
+    //HELPER METHODS
 
-    public String getRoleFromToken(String token){
-        Claims claims = extractAllClaims(token);
-        return claims.get("role", String.class);
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("userId", Long.class),
+                claims.getExpiration().toInstant());
     }
 }
@@ -0,0 +1,14 @@
+package api.techhatch.com.util;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature and expiry have been checked by {@link JwtUtil#verify(String)}
+ * @param jti id of the token, used for revocation. Null for tokens issued before ids were added
+ * @param email subject of the token
+ * @param role role claim, as in Users.Role
+ * @param userId userId claim
+ * @param expiresAt exp of the token
+ */
+public record VerifiedToken(String jti, String email, String role, Long userId, Instant expiresAt) {
+}
@@ -0,0 +1,197 @@
+package api.techhatch.com.benchmark;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the LIKE search against the FULLTEXT natural language and boolean mode queries of JobRepo.
+ * Runs only against a dedicated MySQL schema created from mysql-init/initialise_db_tables.sql:
+ *   BENCHMARK_DATASOURCE_URL=jdbc:mysql://localhost:3306/job_portal_bench?rewriteBatchedStatements=true
+ *   BENCHMARK_DATASOURCE_USERNAME / BENCHMARK_DATASOURCE_PASSWORD
+ *   BENCHMARK_JOB_COUNT (default 300000)
+ *   mvn test -Dtest=JobSearchQueryBenchmark
+ */
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_DATASOURCE_URL", matches = ".+")
+class JobSearchQueryBenchmark {
+
+    private static final String FILTERS = """
+             AND (? IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', ?, '%')))
+            """;
+
+    private static final String LIKE_PAGE = """
+            SELECT j.id FROM jobs j WHERE j.status = 'ACTIVE'
+             AND (LOWER(j.title) LIKE LOWER(CONCAT('%', ?, '%')) OR LOWER(j.description) LIKE LOWER(CONCAT('%', ?, '%')))
+            """ + FILTERS + " ORDER BY j.posted_date DESC LIMIT 25";
+
+    private static final String LIKE_COUNT = """
+            SELECT COUNT(*) FROM jobs j WHERE j.status = 'ACTIVE'
+             AND (LOWER(j.title) LIKE LOWER(CONCAT('%', ?, '%')) OR LOWER(j.description) LIKE LOWER(CONCAT('%', ?, '%')))
+            """ + FILTERS;
+
+    private static final String MATCH = "MATCH(j.title, j.description, j.requirements) AGAINST (? IN %s MODE)";
+
+    private static final String[] WORDS = {
+            "java", "spring", "kotlin", "python", "django", "react", "angular", "node", "kubernetes", "docker",
+            "aws", "azure", "terraform", "golang", "rust", "scala", "spark", "kafka", "mysql", "postgres",
+            "redis", "graphql", "typescript", "android", "swift", "flutter", "devops", "security", "testing", "data"
+    };
+    private static final String[] ROLES = {"Developer", "Engineer", "Architect", "Lead", "Intern", "Consultant"};
+    private static final String[] CITIES = {"Bangalore", "Pune", "Hyderabad", "Chennai", "Mumbai", "Delhi", "Remote"};
+    private static final List<String> KEYWORDS = List.of("java", "kubernetes", "react developer", "data engineer");
+    private static final int RUNS = 7;
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getenv("BENCHMARK_DATASOURCE_URL"),
+                System.getenv("BENCHMARK_DATASOURCE_USERNAME"),
+                System.getenv("BENCHMARK_DATASOURCE_PASSWORD"));
+
+        int target = Integer.parseInt(System.getenv().getOrDefault("BENCHMARK_JOB_COUNT", "300000"));
+        int existing = count("SELECT COUNT(*) FROM jobs");
+        if (existing >= target) return;
+
+        long recruiterId = ensureRecruiter();
+        Random random = new Random(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO jobs (recruiter_id, title, description, requirements, location, job_type,
+                                  experience_level, required_skills, status, posted_date, expiry_date)
+                VALUES (?, ?, ?, ?, ?, 'FULL_TIME', 'MID', '[]', 'ACTIVE', ?, ?)
+                """)) {
+            for (int i = existing; i < target; i++) {
+                String skill = WORDS[random.nextInt(WORDS.length)];
+                LocalDateTime posted = LocalDateTime.now().minusMinutes(random.nextInt(60 * 24 * 60));
+                insert.setLong(1, recruiterId);
+                insert.setString(2, capitalize(skill) + " " + ROLES[random.nextInt(ROLES.length)]);
+                insert.setString(3, sentence(random, 40));
+                insert.setString(4, sentence(random, 15));
+                insert.setString(5, CITIES[random.nextInt(CITIES.length)]);
+                insert.setTimestamp(6, Timestamp.valueOf(posted));
+                insert.setTimestamp(7, Timestamp.valueOf(posted.plusDays(60)));
+                insert.addBatch();
+                if ((i + 1) % 5_000 == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    @Test
+    void compareLikeAndFullText() throws SQLException {
+        System.out.printf("%n%-18s %12s %12s %12s %12s %12s %12s%n", "keyword",
+                "like page", "like count", "natural page", "natural cnt", "boolean page", "boolean cnt");
+
+        for (String keyword : KEYWORDS) {
+            String booleanQuery = "+" + String.join("* +", keyword.split(" ")) + "*";
+
+            double likePage = median(() -> run(LIKE_PAGE, keyword, keyword, null, null));
+            double likeCount = median(() -> run(LIKE_COUNT, keyword, keyword, null, null));
+            double naturalPage = median(() -> run(matchPage("NATURAL LANGUAGE"), keyword, null, null, keyword));
+            double naturalCount = median(() -> run(matchCount("NATURAL LANGUAGE"), keyword, null, null));
+            double booleanPage = median(() -> run(matchPage("BOOLEAN"), booleanQuery, null, null, booleanQuery));
+            double booleanCount = median(() -> run(matchCount("BOOLEAN"), booleanQuery, null, null));
+
+            System.out.printf("%-18s %10.1fms %10.1fms %10.1fms %10.1fms %10.1fms %10.1fms%n", keyword,
+                    likePage, likeCount, naturalPage, naturalCount, booleanPage, booleanCount);
+            assertTrue(likePage > 0);
+        }
+    }
+
+    private static String matchPage(String mode) {
+        String match = MATCH.formatted(mode);
+        return "SELECT j.id FROM jobs j WHERE j.status = 'ACTIVE' AND " + match + FILTERS
+                + " ORDER BY " + match + " DESC, j.posted_date DESC LIMIT 25";
+    }
+
+    private static String matchCount(String mode) {
+        return "SELECT COUNT(*) FROM jobs j WHERE j.status = 'ACTIVE' AND " + MATCH.formatted(mode) + FILTERS;
+    }
+
+    //median wall clock time in ms, the first run warms the buffer pool and is discarded
+    private static double median(SqlRun run) throws SQLException {
+        run.execute();
+        double[] timings = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            run.execute();
+            timings[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(timings);
+        return timings[RUNS / 2];
+    }
+
+    private static void run(String sql, Object... params) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    rs.getLong(1);
+                }
+            }
+        }
+    }
+
+    private static int count(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static long ensureRecruiter() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("""
+                    INSERT IGNORE INTO users (email, password, role) VALUES ('bench@techhatch.local', 'x', 'RECRUITER')
+                    """);
+            statement.executeUpdate("""
+                    INSERT IGNORE INTO recruiter_profiles (user_id, company_name, company_description, company_size, industry)
+                    SELECT id, 'Bench Corp', 'Seeded by JobSearchQueryBenchmark', '11-50', 'IT'
+                    FROM users WHERE email = 'bench@techhatch.local'
+                    """);
+            try (ResultSet rs = statement.executeQuery("""
+                    SELECT r.id FROM recruiter_profiles r JOIN users u ON u.id = r.user_id
+                    WHERE u.email = 'bench@techhatch.local'
+                    """)) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) text.append(' ');
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    @FunctionalInterface
+    private interface SqlRun {
+        void execute() throws SQLException;
+    }
+}
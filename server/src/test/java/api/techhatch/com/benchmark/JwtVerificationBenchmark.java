@@ -0,0 +1,82 @@
+package api.techhatch.com.benchmark;
+
+import api.techhatch.com.util.JwtUtil;
+import api.techhatch.com.util.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verification cost of one request in JwtFilter:
+ *   perRequestParsers - the previous path, the token parsed three times with the key decoded and a parser built each time
+ *   singleParse       - JwtUtil.verify with the verified-token cache disabled
+ *   cachedToken       - JwtUtil.verify for a token that was verified before
+ * Run with
+ *   BENCHMARK_JMH=true mvn test -Dtest=JwtVerificationBenchmark
+ */
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_JMH", matches = "true")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "dGVjaGhhdGNoLWp3dC1iZW5jaG1hcmstc2VjcmV0LWtleS0yNTYtYml0cw==";
+
+    private JwtUtil uncached;
+    private JwtUtil cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtUtil(SECRET, 3_600_000L, 0, new SimpleMeterRegistry());
+        cached = new JwtUtil(SECRET, 3_600_000L, 10_000, new SimpleMeterRegistry());
+        token = cached.generateToken("candidate@techhatch.test", "CANDIDATE", 42L);
+    }
+
+    @Benchmark
+    public boolean perRequestParsers() {
+        String email = claims(token).getSubject();
+        return email.equals(claims(token).getSubject()) && !claims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public VerifiedToken singleParse() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken cachedToken() {
+        return cached.verify(token);
+    }
+
+    @Test
+    void run() throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    //HELPER METHODS
+
+    private static Claims claims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+}
@@ -0,0 +1,130 @@
+package api.techhatch.com.cache;
+
+import api.techhatch.com.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 2_000;
+
+    //counted down by every caller that joins a flight someone else leads
+    private final CountDownLatch joined = new CountDownLatch(CALLERS - 1);
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>() {
+        @Override
+        protected void onJoin(Long key) {
+            joined.countDown();
+        }
+    };
+
+    @Test
+    void stampedeOnOneKeySharesOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return singleFlight.execute(42L, () -> {
+                        loads.incrementAndGet();
+                        //hold the load open until every caller has joined the flight
+                        awaitJoined();
+                        return "job-42";
+                    });
+                }));
+            }
+            start.countDown();
+        }
+
+        for (Future<String> result : results) {
+            assertEquals("job-42", result.get());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void distinctKeysLoadIndependently() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CyclicBarrier allLoading = new CyclicBarrier(10);
+
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long key = 0; key < 10; key++) {
+                long id = key;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return singleFlight.execute(id, () -> {
+                        loads.incrementAndGet();
+                        //only completes if all ten loads run at the same time
+                        await(allLoading);
+                        return "job-" + id;
+                    });
+                }));
+            }
+            start.countDown();
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals("job-" + i, results.get(i).get());
+        }
+        assertEquals(10, loads.get());
+    }
+
+    @Test
+    void failureIsSharedWithWaitersAndNotCached() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return singleFlight.execute(7L, () -> {
+                        loads.incrementAndGet();
+                        awaitJoined();
+                        throw new ResourceNotFoundException("Job not found");
+                    });
+                }));
+            }
+            start.countDown();
+        }
+
+        for (Future<String> result : results) {
+            ExecutionException failure = assertThrows(ExecutionException.class, result::get);
+            assertInstanceOf(ResourceNotFoundException.class, failure.getCause());
+        }
+        assertEquals(1, loads.get());
+
+        //the next caller after the failed flight loads again
+        assertEquals("job-7", singleFlight.execute(7L, () -> "job-7"));
+    }
+
+    private void awaitJoined() {
+        try {
+            assertTrue(joined.await(10, TimeUnit.SECONDS), "not every caller joined the flight");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package api.techhatch.com.config;
+
+import api.techhatch.com.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private static final int CALLERS = 50;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    //one thread and one queue slot, a burst has to be shed
+    private final BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(10, 1, 1, meterRegistry);
+
+    @AfterEach
+    void shutdown() {
+        encoder.destroy();
+    }
+
+    @Test
+    void burstBeyondThePoolIsRejectedWithoutWaiting() throws Exception {
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<String>> hashes = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                hashes.add(callers.submit(() -> {
+                    start.await();
+                    try {
+                        return encoder.encode("secret");
+                    } catch (TooManyRequestsException e) {
+                        rejected.incrementAndGet();
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+        }
+
+        long encoded = 0;
+        for (Future<String> hash : hashes) {
+            if (hash.get() != null) encoded++;
+        }
+        assertTrue(rejected.get() > 0, "no request was shed");
+        assertTrue(encoded > 0, "no request was served");
+        assertEquals(CALLERS, encoded + rejected.get());
+        assertEquals(rejected.get(), meterRegistry.get("auth.password.rejected").counter().count());
+        assertEquals(encoded, meterRegistry.get("auth.password.hashing").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void hashesOfAnotherCostAreUpgraded() {
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(12).encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(encoder.matches("secret", new BCryptPasswordEncoder(4).encode("secret")));
+    }
+}
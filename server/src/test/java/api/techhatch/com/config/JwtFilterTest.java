@@ -0,0 +1,103 @@
+package api.techhatch.com.config;
+
+import api.techhatch.com.model.CandidateProfile;
+import api.techhatch.com.model.Users;
+import api.techhatch.com.repository.CandidateProfileRepo;
+import api.techhatch.com.repository.UserRepo;
+import api.techhatch.com.support.ApiTest;
+import api.techhatch.com.support.TestFixtures;
+import api.techhatch.com.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Principal of a valid token: built from its claims and the cached account status, or loaded from the database
+ * with jwt.principal-from-claims=false (switched on the filter bean, a context of its own would not share the fixtures)
+ */
+@ApiTest
+class JwtFilterTest {
+
+    private static final String CANDIDATE_EMAIL = "candidate@techhatch.test";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private JwtFilter jwtFilter;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private CandidateProfileRepo candidateRepo;
+
+    private CandidateProfile candidate;
+
+    @BeforeEach
+    void createCandidate() {
+        fixtures.clear();
+        candidate = fixtures.candidate(CANDIDATE_EMAIL);
+    }
+
+    @Test
+    void suspendedUserIsUnauthorized() throws Exception {
+        Users user = candidate.getUser();
+        user.setAccountStatus(Users.AccountStatus.SUSPENDED);
+        userRepo.save(user);
+
+        myApplications(token(user, user.getRole())).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void deletedUserIsUnauthorized() throws Exception {
+        String token = token(candidate.getUser(), Users.Role.CANDIDATE);
+        candidateRepo.delete(candidate);
+        userRepo.delete(candidate.getUser());
+
+        myApplications(token).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void suspensionIsSeenByTheNextRequestAfterCommit() throws Exception {
+        Users user = candidate.getUser();
+        String token = token(user, user.getRole());
+        //caches the ACTIVE status
+        myApplications(token).andExpect(status().isOk());
+
+        Users stored = userRepo.findById(user.getId()).orElseThrow();
+        stored.setAccountStatus(Users.AccountStatus.SUSPENDED);
+        userRepo.save(stored);
+
+        myApplications(token).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void principalIsLoadedFromTheDatabaseWhenClaimsAreOff() throws Exception {
+        //the claims say RECRUITER, which the candidate endpoint would refuse
+        String token = token(candidate.getUser(), Users.Role.RECRUITER);
+        ReflectionTestUtils.setField(jwtFilter, "principalFromClaims", false);
+        try {
+            myApplications(token).andExpect(status().isOk());
+        } finally {
+            ReflectionTestUtils.setField(jwtFilter, "principalFromClaims", true);
+        }
+    }
+
+    //HELPER METHODS
+
+    private ResultActions myApplications(String token) throws Exception {
+        return mockMvc.perform(get("/api/v1/applications/my-applications/scroll").header("Authorization", token));
+    }
+
+    private String token(Users user, Users.Role role) {
+        return "Bearer " + jwtUtil.generateToken(user.getEmail(), role.toString(), user.getId());
+    }
+}
@@ -0,0 +1,53 @@
+package api.techhatch.com.config;
+
+import api.techhatch.com.exception.TooManyRequestsException;
+import api.techhatch.com.support.ApiTest;
+import api.techhatch.com.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A full hashing pool answers HTTP Basic requests with 429, not with the 500 of an exception escaping the filters
+ */
+@ApiTest
+class TooManyRequestsFilterTest {
+
+    private static final String CANDIDATE_EMAIL = "candidate@techhatch.test";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void createCandidate() {
+        fixtures.clear();
+        fixtures.candidate(CANDIDATE_EMAIL);
+    }
+
+    @Test
+    void fullHashingPoolIsTooManyRequestsOnHttpBasic() throws Exception {
+        when(passwordEncoder.matches(any(), anyString()))
+                .thenThrow(new TooManyRequestsException("Too many requests right now, please retry in a moment"));
+
+        mockMvc.perform(get("/api/v1/applications/my-applications/scroll").with(httpBasic(CANDIDATE_EMAIL, "secret")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message").value("Too many requests right now, please retry in a moment"));
+    }
+}
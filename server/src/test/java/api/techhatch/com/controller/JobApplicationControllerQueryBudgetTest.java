@@ -0,0 +1,128 @@
+package api.techhatch.com.controller;
+
+import api.techhatch.com.cache.UserStatusCache;
+import api.techhatch.com.model.CandidateProfile;
+import api.techhatch.com.model.Job;
+import api.techhatch.com.model.JobApplication;
+import api.techhatch.com.model.RecruiterProfile;
+import api.techhatch.com.model.Users;
+import api.techhatch.com.querystats.QueryBudget;
+import api.techhatch.com.repository.JobApplicationRepo;
+import api.techhatch.com.support.ApiTest;
+import api.techhatch.com.support.TestFixtures;
+import api.techhatch.com.util.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets of the application listings, measured over HTTP with the JwtFilter account status lookup included.
+ * Every test uses new users and the second-level cache is emptied before it, so the budgets hold for cold caches:
+ * account status, user and profile lookup, then ids, count and rows for a page (candidate), or job, rows and count
+ * (recruiter). Scrolls skip the count. With the account status already cached the filter issues no statement.
+ */
+@ApiTest
+class JobApplicationControllerQueryBudgetTest {
+
+    private static final int APPLICATIONS = 20;
+    private static final String CANDIDATE_EMAIL = "candidate@techhatch.test";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private JobApplicationRepo applicationRepo;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserStatusCache userStatusCache;
+
+    private List<Job> jobs;
+    private CandidateProfile candidate;
+    private RecruiterProfile recruiter;
+
+    @BeforeEach
+    void createApplications() {
+        fixtures.clear();
+
+        jobs = new ArrayList<>();
+        for (int i = 0; i < APPLICATIONS; i++) {
+            RecruiterProfile profile = fixtures.recruiter("recruiter" + i + "@techhatch.test");
+            if (i == 0) recruiter = profile;
+            jobs.add(fixtures.job(profile));
+        }
+        candidate = fixtures.candidate(CANDIDATE_EMAIL);
+        List<JobApplication> applications = new ArrayList<>();
+        for (Job job : jobs) {
+            applications.add(fixtures.application(job, candidate));
+        }
+        for (int i = 1; i < APPLICATIONS; i++) {
+            applications.add(fixtures.application(jobs.getFirst(), fixtures.candidate("candidate" + i + "@techhatch.test")));
+        }
+        applicationRepo.saveAll(applications);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @QueryBudget(6)
+    void myApplicationsPage() throws Exception {
+        mockMvc.perform(get("/api/v1/applications/my-applications").header("Authorization", bearer(candidate.getUser())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(15))
+                .andExpect(header().exists("X-Query-Count"))
+                .andExpect(header().exists("X-Query-Time-Ms"));
+    }
+
+    @Test
+    @QueryBudget(5)
+    void myApplicationsPageWithWarmStatusCache() throws Exception {
+        userStatusCache.get(candidate.getUser().getId());
+
+        mockMvc.perform(get("/api/v1/applications/my-applications").header("Authorization", bearer(candidate.getUser())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(15));
+    }
+
+    @Test
+    @QueryBudget(5)
+    void myApplicationsScroll() throws Exception {
+        mockMvc.perform(get("/api/v1/applications/my-applications/scroll").header("Authorization", bearer(candidate.getUser())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(15));
+    }
+
+    @Test
+    @QueryBudget(6)
+    void jobApplicationsPage() throws Exception {
+        mockMvc.perform(get("/api/v1/applications/job/" + jobs.getFirst().getId()).header("Authorization", bearer(recruiter.getUser())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(15));
+    }
+
+    @Test
+    @QueryBudget(5)
+    void jobApplicationsScroll() throws Exception {
+        mockMvc.perform(get("/api/v1/applications/job/" + jobs.getFirst().getId() + "/scroll").header("Authorization", bearer(recruiter.getUser())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(15));
+    }
+
+    //HELPER METHODS
+
+    private String bearer(Users user) {
+        return "Bearer " + jwtUtil.generateToken(user.getEmail(), user.getRole().toString(), user.getId());
+    }
+}
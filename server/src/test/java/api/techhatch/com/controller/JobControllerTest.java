@@ -0,0 +1,41 @@
+package api.techhatch.com.controller;
+
+import api.techhatch.com.model.Job;
+import api.techhatch.com.support.ApiTest;
+import api.techhatch.com.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Both public listings accept the same filters, a blank keyword included
+ */
+@ApiTest
+class JobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Job job;
+
+    @BeforeEach
+    void createJob() {
+        fixtures.clear();
+        job = fixtures.job(fixtures.recruiter("recruiter@techhatch.test"));
+    }
+
+    @Test
+    void scrollWithoutKeywordFiltersOnly() throws Exception {
+        mockMvc.perform(get("/api/v1/jobs/scroll").param("keyword", " ").param("jobType", "FULL_TIME").param("includeCount", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(job.getId()))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+}
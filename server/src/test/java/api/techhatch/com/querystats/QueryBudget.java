@@ -0,0 +1,24 @@
+package api.techhatch.com.querystats;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the annotated test when one of the HTTP requests it performs prepares more than {@link #value()}
+ * SQL statements, or when it performs none. Requests are measured by {@link QueryStatsFilter}, so the test needs
+ * a Spring context with that filter in front of the controllers, e.g. @SpringBootTest with @AutoConfigureMockMvc.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    /**
+     * @return maximum statements per request, the JwtFilter user lookup included
+     */
+    int value();
+}
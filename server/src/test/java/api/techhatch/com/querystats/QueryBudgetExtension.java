@@ -0,0 +1,65 @@
+package api.techhatch.com.querystats;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Collects the {@link RequestQueriesEvent}s published while a {@link QueryBudget} test runs and checks them
+ * against the budget afterwards
+ */
+class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        Recorder recorder = new Recorder();
+        applicationContext(context).addApplicationListener(recorder);
+        context.getStore(NAMESPACE).put(Recorder.class, recorder);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Recorder recorder = context.getStore(NAMESPACE).remove(Recorder.class, Recorder.class);
+        applicationContext(context).removeApplicationListener(recorder);
+
+        int budget = context.getRequiredTestMethod().getAnnotation(QueryBudget.class).value();
+        assertFalse(recorder.requests.isEmpty(), "@QueryBudget test performed no request");
+        List<RequestQueriesEvent> overBudget = recorder.requests.stream()
+                .filter(request -> request.statements() > budget)
+                .toList();
+        if (!overBudget.isEmpty()) {
+            fail("Query budget of " + budget + " statements exceeded by " + overBudget);
+        }
+    }
+
+    //HELPER METHODS
+
+    private static ConfigurableApplicationContext applicationContext(ExtensionContext context) {
+        return (ConfigurableApplicationContext) SpringExtension.getApplicationContext(context);
+    }
+
+    private static class Recorder implements ApplicationListener<ApplicationEvent> {
+
+        private final List<RequestQueriesEvent> requests = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onApplicationEvent(ApplicationEvent event) {
+            if (event instanceof PayloadApplicationEvent<?> payload && payload.getPayload() instanceof RequestQueriesEvent request) {
+                requests.add(request);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package api.techhatch.com.recommendation;
+
+import api.techhatch.com.model.CandidateProfile;
+import api.techhatch.com.model.Job;
+import api.techhatch.com.model.RecruiterProfile;
+import api.techhatch.com.repository.CandidateProfileRepo;
+import api.techhatch.com.search.JobChangedEvent;
+import api.techhatch.com.search.JobDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecommendationEngineTest {
+
+    private static final long BACKEND = 1L;
+    private static final long FRONTEND = 2L;
+
+    private final CandidateProfileRepo candidateRepo = mock(CandidateProfileRepo.class);
+    private final RecommendationEngine engine = new RecommendationEngine(candidateRepo,
+            mock(PlatformTransactionManager.class), true, 2, 256, 1, 500);
+
+    @BeforeEach
+    void rebuild() throws InterruptedException {
+        when(candidateRepo.findCandidatesAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                candidate(BACKEND, 4, "Pune", "Java", "Spring"),
+                candidate(FRONTEND, 4, "Pune", "React")));
+
+        engine.beginRebuild();
+        engine.upsert(job(10L, Job.ExperienceLevel.MID, "Pune", "Java", "Spring"));
+        engine.upsert(job(11L, Job.ExperienceLevel.MID, "Delhi", "Java", "Python"));
+        engine.upsert(job(12L, Job.ExperienceLevel.LEAD, "Delhi", "Java", "Kotlin"));
+        engine.upsert(job(13L, Job.ExperienceLevel.MID, "Pune", "React"));
+        engine.endRebuild();
+        engine.awaitUpdates();
+    }
+
+    @AfterEach
+    void shutdown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void ranksTheBestMatchingJobsFirst() {
+        assertTrue(engine.isReady());
+        //full skill and level match first, half the skills at the right level before half at the wrong one
+        assertEquals(List.of(10L, 11L), jobIds(BACKEND));
+        assertEquals(List.of(13L), jobIds(FRONTEND));
+    }
+
+    @Test
+    void postedJobIsMergedIntoTheMatchingLists() throws InterruptedException {
+        engine.apply(JobChangedEvent.upsertedAll(List.of(
+                job(20L, Job.ExperienceLevel.MID, "Pune", "Spring"),
+                job(21L, Job.ExperienceLevel.MID, "Mumbai", "React", "Redux"))));
+        engine.awaitUpdates();
+
+        assertEquals(List.of(20L, 10L), jobIds(BACKEND));
+        assertEquals(List.of(13L, 21L), jobIds(FRONTEND));
+    }
+
+    @Test
+    void removedJobIsReplacedByTheNextBest() throws InterruptedException {
+        engine.apply(JobChangedEvent.removedAll(List.of(10L)));
+        engine.awaitUpdates();
+
+        assertEquals(List.of(11L, 12L), jobIds(BACKEND));
+        assertEquals(List.of(13L), jobIds(FRONTEND));
+    }
+
+    @Test
+    void changedJobLeavesTheListsItNoLongerMatches() throws InterruptedException {
+        engine.upsert(job(10L, Job.ExperienceLevel.MID, "Pune", "React"));
+        engine.awaitUpdates();
+
+        assertEquals(List.of(11L, 12L), jobIds(BACKEND));
+        //same score as job 13, the newer job wins the tie
+        assertEquals(List.of(13L, 10L), jobIds(FRONTEND));
+    }
+
+    @Test
+    void changedProfileIsReRanked() throws InterruptedException {
+        engine.onCandidateProfileChanged(new CandidateProfileChangedEvent(
+                CandidateVector.from(candidate(FRONTEND, 4, "Delhi", "Python"))));
+        engine.awaitUpdates();
+        assertEquals(List.of(11L), jobIds(FRONTEND));
+
+        //the new skills decide which later jobs reach the candidate
+        engine.upsert(job(30L, Job.ExperienceLevel.MID, "Delhi", "Python"));
+        engine.upsert(job(31L, Job.ExperienceLevel.MID, "Delhi", "React"));
+        engine.awaitUpdates();
+        assertEquals(List.of(30L, 11L), jobIds(FRONTEND));
+    }
+
+    //HELPER METHODS
+
+    private List<Long> jobIds(long candidateId) {
+        return engine.recommendationsFor(candidateId).stream().map(Recommendation::jobId).toList();
+    }
+
+    private static CandidateProfile candidate(long id, int experienceYears, String location, String... skills) {
+        return CandidateProfile.builder()
+                .id(id)
+                .experienceYears(experienceYears)
+                .location(location)
+                .skills(List.of(skills))
+                .build();
+    }
+
+    private static JobDocument job(long id, Job.ExperienceLevel level, String location, String... skills) {
+        return JobDocument.from(Job.builder()
+                .id(id)
+                .recruiterProfile(RecruiterProfile.builder().id(7L).companyName("Acme").build())
+                .title("Engineer")
+                .experienceLevel(level)
+                .workMode(Job.WorkMode.ONSITE)
+                .location(location)
+                .requiredSkills(List.of(skills))
+                .jobStatus(Job.JobStatus.ACTIVE)
+                .build());
+    }
+}
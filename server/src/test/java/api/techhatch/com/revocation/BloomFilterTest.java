@@ -0,0 +1,50 @@
+package api.techhatch.com.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    private static final int REVOCATIONS = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final BloomFilter filter = new BloomFilter(REVOCATIONS, FALSE_POSITIVE_RATE);
+
+    @Test
+    void everyPutKeyIsFound() {
+        List<String> jtis = jtis(REVOCATIONS);
+        jtis.forEach(filter::put);
+
+        jtis.forEach(jti -> assertTrue(filter.mightContain(jti), jti));
+    }
+
+    @Test
+    void absentKeysStayNearTheFalsePositiveRate() {
+        jtis(REVOCATIONS).forEach(filter::put);
+
+        long falsePositives = jtis(REVOCATIONS).stream().filter(filter::mightContain).count();
+
+        //1% expected, leave room for the randomness of the keys
+        assertTrue(falsePositives < REVOCATIONS * FALSE_POSITIVE_RATE * 1.5, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        assertFalse(filter.mightContain(UUID.randomUUID().toString()));
+    }
+
+    //HELPER METHODS
+
+    private static List<String> jtis(int count) {
+        List<String> jtis = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            jtis.add(UUID.randomUUID().toString());
+        }
+        return jtis;
+    }
+}
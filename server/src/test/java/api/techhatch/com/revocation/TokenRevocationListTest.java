@@ -0,0 +1,138 @@
+package api.techhatch.com.revocation;
+
+import api.techhatch.com.model.RevokedToken;
+import api.techhatch.com.model.Users;
+import api.techhatch.com.repository.RevokedTokenRepo;
+import api.techhatch.com.support.ApiTest;
+import api.techhatch.com.support.TestFixtures;
+import api.techhatch.com.util.JwtUtil;
+import api.techhatch.com.util.VerifiedToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Revocations through logout, of other instances (rows inserted behind the list's back) and their purge
+ */
+@ApiTest
+class TokenRevocationListTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TokenRevocationList revocationList;
+    @Autowired
+    private RevokedTokenRepo revokedTokenRepo;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void clear() {
+        fixtures.clear();
+        revokedTokenRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void loggedOutTokenIsUnauthorized() throws Exception {
+        Users user = fixtures.candidate("candidate@techhatch.test").getUser();
+        String bearer = "Bearer " + jwtUtil.generateToken(user.getEmail(), user.getRole().toString(), user.getId());
+        mockMvc.perform(get("/api/v1/applications/my-applications/scroll").header("Authorization", bearer))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1/auth/logout").header("Authorization", bearer))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/applications/my-applications/scroll").header("Authorization", bearer))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void syncPicksUpRevocationsOfOtherInstances() {
+        VerifiedToken token = token(Duration.ofHours(1));
+        revokedTokenRepo.save(row(token));
+        assertFalse(revocationList.isRevoked(token));
+
+        revocationList.sync();
+
+        assertTrue(revocationList.isRevoked(token));
+    }
+
+    @Test
+    void revocationIsAppliedOnlyOnceItsTransactionCommits() {
+        VerifiedToken committed = token(Duration.ofHours(1));
+        transactionTemplate.executeWithoutResult(status -> {
+            revocationList.revoke(committed);
+            assertFalse(revocationList.isRevoked(committed));
+        });
+        assertTrue(revocationList.isRevoked(committed));
+
+        VerifiedToken rolledBack = token(Duration.ofHours(1));
+        transactionTemplate.executeWithoutResult(status -> {
+            revocationList.revoke(rolledBack);
+            status.setRollbackOnly();
+        });
+        assertFalse(revocationList.isRevoked(rolledBack));
+        assertTrue(revokedTokenRepo.findById(rolledBack.jti()).isEmpty());
+    }
+
+    @Test
+    void purgeDropsExpiredRevocationsAndRebuildsTheFilter() throws InterruptedException {
+        VerifiedToken expiring = token(Duration.ofMillis(200));
+        VerifiedToken valid = token(Duration.ofHours(1));
+        revocationList.revoke(expiring);
+        revocationList.revoke(valid);
+        //the purge only drops tokens that would be rejected as expired anyway
+        Thread.sleep(Duration.between(Instant.now(), expiring.expiresAt()).plusMillis(50));
+
+        revocationList.purge();
+
+        assertTrue(revokedTokenRepo.findById(expiring.jti()).isEmpty());
+        assertTrue(revocationList.isRevoked(valid));
+        //a filter still holding the jti would count the check as a false positive
+        double falsePositives = falsePositives();
+        assertFalse(revocationList.isRevoked(expiring));
+        assertEquals(falsePositives, falsePositives());
+    }
+
+    //HELPER METHODS
+
+    private static VerifiedToken token(Duration lifetime) {
+        return new VerifiedToken(UUID.randomUUID().toString(), "candidate@techhatch.test", "CANDIDATE", 1L,
+                Instant.now().plus(lifetime));
+    }
+
+    private static RevokedToken row(VerifiedToken token) {
+        return RevokedToken.builder()
+                .jti(token.jti())
+                .userId(token.userId())
+                .expiresAt(LocalDateTime.ofInstant(token.expiresAt(), ZoneId.systemDefault()))
+                .revokedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private double falsePositives() {
+        return meterRegistry.get("auth.revocation.checks").tag("result", "false_positive").counter().count();
+    }
+}
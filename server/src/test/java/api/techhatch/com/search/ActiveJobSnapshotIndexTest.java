@@ -0,0 +1,64 @@
+package api.techhatch.com.search;
+
+import api.techhatch.com.model.Job;
+import api.techhatch.com.model.RecruiterProfile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActiveJobSnapshotIndexTest {
+
+    private final ActiveJobSnapshotIndex index = new ActiveJobSnapshotIndex(true, false, event -> { });
+
+    @AfterEach
+    void shutdown() {
+        index.shutdown();
+    }
+
+    @Test
+    void rebuildPublishesOnceWhenItEnds() {
+        index.beginRebuild();
+        index.upsert(document(1L));
+        index.upsert(document(2L));
+        assertFalse(index.isReady());
+        assertEquals(0, index.current().size());
+
+        index.endRebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(2, index.current().size());
+    }
+
+    @Test
+    void changesAreVisibleAfterTheBackgroundPublish() throws InterruptedException {
+        index.beginRebuild();
+        index.endRebuild();
+
+        for (long id = 1; id <= 500; id++) {
+            index.upsert(document(id));
+        }
+        index.apply(JobChangedEvent.removedAll(List.of(1L, 2L, 3L)));
+        index.apply(JobChangedEvent.upsertedAll(List.of(document(501L), document(502L))));
+        index.awaitPublished();
+
+        assertEquals(499, index.current().size());
+    }
+
+    //HELPER METHODS
+
+    private static JobDocument document(Long id) {
+        return JobDocument.from(Job.builder()
+                .id(id)
+                .recruiterProfile(RecruiterProfile.builder().id(7L).companyName("Acme").build())
+                .title("Backend Engineer")
+                .jobType(Job.JobType.FULL_TIME)
+                .experienceLevel(Job.ExperienceLevel.MID)
+                .jobStatus(Job.JobStatus.ACTIVE)
+                .build());
+    }
+}
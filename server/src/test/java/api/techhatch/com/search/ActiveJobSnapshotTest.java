@@ -0,0 +1,57 @@
+package api.techhatch.com.search;
+
+import api.techhatch.com.model.Job;
+import api.techhatch.com.model.RecruiterProfile;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActiveJobSnapshotTest {
+
+    private final ActiveJobSnapshot snapshot = ActiveJobSnapshot.of(List.of(document(1L), document(2L)), false);
+
+    @Test
+    void pageBeyondTheLastMatchIsEmpty() {
+        assertEquals(2, snapshot.filter(salaries(null, null), 0, 15).jobs().size());
+
+        //200000000 * 15 overflows an int into a negative offset
+        ActiveJobSnapshot.FilterHits hits = snapshot.filter(salaries(null, null), 200_000_000, 15);
+        assertTrue(hits.jobs().isEmpty());
+        assertEquals(2, hits.totalHits());
+    }
+
+    @Test
+    void salaryBoundsBeyondTheColumnsMatchEverythingOrNothing() {
+        BigDecimal huge = new BigDecimal("1e30");
+        BigDecimal hugeNegative = huge.negate();
+
+        assertEquals(0, snapshot.filter(salaries(huge, null), 0, 15).totalHits());
+        assertEquals(2, snapshot.filter(salaries(hugeNegative, null), 0, 15).totalHits());
+        assertEquals(2, snapshot.filter(salaries(null, huge), 0, 15).totalHits());
+        assertEquals(0, snapshot.filter(salaries(null, hugeNegative), 0, 15).totalHits());
+        assertEquals(0, snapshot.filter(salaries(new BigDecimal("1e999999999"), null), 0, 15).totalHits());
+    }
+
+    //HELPER METHODS
+
+    private static JobSearchQuery salaries(BigDecimal minSalary, BigDecimal maxSalary) {
+        return new JobSearchQuery(null, null, null, null, minSalary, maxSalary, null, null, null, null);
+    }
+
+    private static JobDocument document(Long id) {
+        return JobDocument.from(Job.builder()
+                .id(id)
+                .recruiterProfile(RecruiterProfile.builder().id(7L).companyName("Acme").build())
+                .title("Backend Engineer")
+                .jobType(Job.JobType.FULL_TIME)
+                .experienceLevel(Job.ExperienceLevel.MID)
+                .salaryMin(new BigDecimal("50000"))
+                .salaryMax(new BigDecimal("90000"))
+                .jobStatus(Job.JobStatus.ACTIVE)
+                .build());
+    }
+}
@@ -0,0 +1,107 @@
+package api.techhatch.com.search;
+
+import api.techhatch.com.model.Job;
+import api.techhatch.com.model.RecruiterProfile;
+import api.techhatch.com.repository.JobRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobIndexCoordinatorTest {
+
+    private final JobRepo jobRepo = mock(JobRepo.class);
+    private final RecordingSink sink = new RecordingSink();
+    private final JobIndexCoordinator coordinator = new JobIndexCoordinator(List.of(sink), jobRepo,
+            mock(PlatformTransactionManager.class), 500, Duration.ofMillis(1), Duration.ofMillis(5), event -> { });
+
+    @Test
+    void failedRebuildLeavesSinksUnfinishedAndIsRetried() {
+        when(jobRepo.findActiveJobsAfter(anyLong(), any(Pageable.class)))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(List.of(job(1L), job(2L)));
+
+        coordinator.rebuild();
+
+        assertEquals(List.of("begin", "begin", "begin", "upsert 1", "upsert 2", "end"), sink.calls);
+    }
+
+    @Test
+    void changesCommittedDuringAFailedAttemptAreReplayedAfterTheRetry() {
+        when(jobRepo.findActiveJobsAfter(anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    coordinator.onJobChanged(JobChangedEvent.removed(1L));
+                    throw new DataAccessResourceFailureException("database down");
+                })
+                .thenReturn(List.of(job(1L)));
+
+        coordinator.rebuild();
+
+        assertEquals(List.of("begin", "begin", "upsert 1", "end", "remove 1"), sink.calls);
+    }
+
+    @Test
+    void rebuildInterruptedDuringBackoffStopsQueuingChanges() {
+        when(jobRepo.findActiveJobsAfter(anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    coordinator.onJobChanged(JobChangedEvent.removed(1L));
+                    //as if the application shut down while the rebuild waits for its retry
+                    Thread.currentThread().interrupt();
+                    throw new DataAccessResourceFailureException("database down");
+                });
+
+        coordinator.rebuild();
+        assertTrue(Thread.interrupted());
+
+        coordinator.onJobChanged(JobChangedEvent.removed(2L));
+        assertEquals(List.of("begin", "remove 2"), sink.calls);
+    }
+
+    //HELPER METHODS
+
+    private static Job job(Long id) {
+        return Job.builder()
+                .id(id)
+                .recruiterProfile(RecruiterProfile.builder().id(7L).companyName("Acme").build())
+                .title("Backend Engineer")
+                .jobStatus(Job.JobStatus.ACTIVE)
+                .build();
+    }
+
+    private static class RecordingSink implements JobIndexSink {
+
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void upsert(JobDocument document) {
+            calls.add("upsert " + document.id());
+        }
+
+        @Override
+        public void remove(Long jobId) {
+            calls.add("remove " + jobId);
+        }
+
+        @Override
+        public void beginRebuild() {
+            calls.add("begin");
+        }
+
+        @Override
+        public void endRebuild() {
+            calls.add("end");
+        }
+    }
+}
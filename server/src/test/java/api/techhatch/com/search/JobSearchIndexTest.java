@@ -0,0 +1,43 @@
+package api.techhatch.com.search;
+
+import api.techhatch.com.model.Job;
+import api.techhatch.com.model.RecruiterProfile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JobSearchIndexTest {
+
+    private final JobSearchIndex index = new JobSearchIndex(true, true, 3, 500, Duration.ofMillis(5), new SimpleMeterRegistry());
+
+    @Test
+    void pageBeyondTheLastHitIsEmpty() {
+        index.beginRebuild();
+        index.upsert(document(1L));
+        index.endRebuild();
+        JobSearchQuery query = new JobSearchQuery("backend", null, null, null, null, null, null, null, null, null);
+
+        assertEquals(List.of(1L), index.search(query, SearchSort.RELEVANCE, 0, 15).jobIds());
+        //200000000 * 15 overflows an int into a negative offset
+        SearchHits hits = index.search(query, SearchSort.RELEVANCE, 200_000_000, 15);
+        assertEquals(List.of(), hits.jobIds());
+        assertEquals(1, hits.totalHits());
+    }
+
+    //HELPER METHODS
+
+    private static JobDocument document(Long id) {
+        return JobDocument.from(Job.builder()
+                .id(id)
+                .recruiterProfile(RecruiterProfile.builder().id(7L).companyName("Acme").build())
+                .title("Backend Engineer")
+                .jobType(Job.JobType.FULL_TIME)
+                .experienceLevel(Job.ExperienceLevel.MID)
+                .jobStatus(Job.JobStatus.ACTIVE)
+                .build());
+    }
+}
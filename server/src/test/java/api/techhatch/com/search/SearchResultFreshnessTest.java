@@ -0,0 +1,81 @@
+package api.techhatch.com.search;
+
+import api.techhatch.com.dto.request.JobSearchFilter;
+import api.techhatch.com.dto.response.JobSummaryResponse;
+import api.techhatch.com.model.Job;
+import api.techhatch.com.service.JobService;
+import api.techhatch.com.support.ApiTest;
+import api.techhatch.com.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cached search pages never outlive the in-memory state they were read from: a page read from the snapshot
+ * before it caught up with a change is dropped once the snapshot is published
+ */
+@ApiTest
+class SearchResultFreshnessTest {
+
+    private static final String RECRUITER_EMAIL = "recruiter@techhatch.test";
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private JobService jobService;
+    @Autowired
+    private JobIndexCoordinator coordinator;
+    @Autowired
+    private ActiveJobSnapshotIndex snapshotIndex;
+    @Autowired
+    private JobSearchIndex searchIndex;
+
+    private Job job;
+
+    @BeforeEach
+    void indexOneJob() throws InterruptedException {
+        awaitTrue(() -> snapshotIndex.isReady() && searchIndex.isReady());
+        fixtures.clear();
+        job = fixtures.job(fixtures.recruiter(RECRUITER_EMAIL));
+        //the fixtures bypass the change events, the sinks are filled from the table again
+        coordinator.rebuild();
+    }
+
+    @Test
+    void closedJobLeavesTheListingsOnceTheSnapshotIsPublished() throws InterruptedException {
+        assertEquals(List.of(job.getId()), search(null));
+
+        //holding the snapshot index's lock keeps the publisher from building the next snapshot
+        synchronized (snapshotIndex) {
+            jobService.closeJob(RECRUITER_EMAIL, job.getId());
+            //read from the previous snapshot, and cached
+            assertEquals(List.of(job.getId()), search(null));
+        }
+        snapshotIndex.awaitPublished();
+
+        assertTrue(search(null).isEmpty());
+        assertTrue(search("Backend").isEmpty());
+    }
+
+    //HELPER METHODS
+
+    private List<Long> search(String keyword) {
+        JobSearchFilter filter = new JobSearchFilter();
+        filter.setKeyword(keyword);
+        return jobService.searchJobs(filter).getContent().stream().map(JobSummaryResponse::getId).toList();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "search sinks not ready");
+            Thread.sleep(20);
+        }
+    }
+}
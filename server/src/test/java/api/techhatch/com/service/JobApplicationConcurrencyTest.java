@@ -0,0 +1,133 @@
+package api.techhatch.com.service;
+
+import api.techhatch.com.dto.request.JobApplicationRequest;
+import api.techhatch.com.exception.DuplicateResourceException;
+import api.techhatch.com.model.Job;
+import api.techhatch.com.repository.JobApplicationRepo;
+import api.techhatch.com.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Stress test of JobApplicationService.applyJob: thousands of parallel applies must leave
+ * jobs.application_count equal to the number of application rows, and duplicates must be rejected by the
+ * unique key without a lost or extra increment.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:apply-stress;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=60000",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({JobApplicationService.class, TestFixtures.class})
+@Sql("/h2-json-columns.sql")
+class JobApplicationConcurrencyTest {
+
+    private static final int CANDIDATES = 2_000;
+    private static final int THREADS = 32;
+    private static final int DUPLICATE_ATTEMPTS = 200;
+
+    @Autowired
+    private JobApplicationService applicationService;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private JobApplicationRepo applicationRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void cleanTables() {
+        fixtures.clear();
+    }
+
+    @Test
+    void parallelAppliesKeepTheCountExact() throws Exception {
+        Job job = fixtures.job(fixtures.recruiter("recruiter@techhatch.test"));
+        List<String> candidates = fixtures.candidates(CANDIDATES);
+
+        List<Callable<Void>> applies = new ArrayList<>();
+        for (String email : candidates) {
+            applies.add(() -> {
+                applicationService.applyJob(email, request(job));
+                return null;
+            });
+        }
+        List<Future<Void>> results = runConcurrently(applies);
+        for (Future<Void> result : results) result.get();
+
+        assertEquals(CANDIDATES, applicationRepo.countJobApplications(job.getId(), null));
+        assertEquals(CANDIDATES, applicationCount(job));
+    }
+
+    @Test
+    void concurrentDuplicatesAreRejectedByTheUniqueKey() throws Exception {
+        Job job = fixtures.job(fixtures.recruiter("recruiter@techhatch.test"));
+        String email = fixtures.candidates(1).getFirst();
+
+        List<Callable<Void>> applies = new ArrayList<>();
+        for (int i = 0; i < DUPLICATE_ATTEMPTS; i++) {
+            applies.add(() -> {
+                applicationService.applyJob(email, request(job));
+                return null;
+            });
+        }
+
+        int accepted = 0;
+        int duplicates = 0;
+        for (Future<Void> result : runConcurrently(applies)) {
+            try {
+                result.get();
+                accepted++;
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof DuplicateResourceException)) throw e;
+                duplicates++;
+            }
+        }
+
+        assertEquals(1, accepted);
+        assertEquals(DUPLICATE_ATTEMPTS - 1, duplicates);
+        assertEquals(1, applicationRepo.countJobApplications(job.getId(), null));
+        //rejected applies rolled their increment back
+        assertEquals(1, applicationCount(job));
+    }
+
+    //HELPER METHODS
+
+    private List<Future<Void>> runConcurrently(List<Callable<Void>> tasks) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            return executor.invokeAll(tasks);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private int applicationCount(Job job) {
+        return jdbcTemplate.queryForObject("SELECT application_count FROM jobs WHERE id = ?", Integer.class, job.getId());
+    }
+
+    private JobApplicationRequest request(Job job) {
+        JobApplicationRequest request = new JobApplicationRequest();
+        request.setJobId(job.getId());
+        return request;
+    }
+}
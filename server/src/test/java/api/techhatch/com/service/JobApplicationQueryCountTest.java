@@ -0,0 +1,135 @@
+package api.techhatch.com.service;
+
+import api.techhatch.com.dto.response.CursorPage;
+import api.techhatch.com.dto.response.JobApplicationResponse;
+import api.techhatch.com.model.CandidateProfile;
+import api.techhatch.com.model.Job;
+import api.techhatch.com.model.JobApplication;
+import api.techhatch.com.repository.JobApplicationRepo;
+import api.techhatch.com.support.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statements issued for one page of each application listing. Every application belongs to a different job and
+ * company (candidate view) or candidate (recruiter view), so a lazy association walked per row shows up as a
+ * growing count. The second-level cache is emptied before each measurement so it cannot hide such loads.
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({JobApplicationService.class, TestFixtures.class})
+@Sql("/h2-json-columns.sql")
+class JobApplicationQueryCountTest {
+
+    private static final int APPLICATIONS = 20;
+    private static final String CANDIDATE_EMAIL = "candidate@techhatch.test";
+    private static final String RECRUITER_EMAIL = "recruiter0@techhatch.test";
+
+    //user and profile resolved through their natural ids
+    private static final long PROFILE_LOOKUP = 2;
+
+    @Autowired
+    private JobApplicationService applicationService;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private JobApplicationRepo applicationRepo;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Job> jobs;
+    private CandidateProfile candidate;
+
+    @BeforeEach
+    void createApplications() {
+        fixtures.clear();
+
+        jobs = new ArrayList<>();
+        for (int i = 0; i < APPLICATIONS; i++) {
+            jobs.add(fixtures.job(fixtures.recruiter("recruiter" + i + "@techhatch.test")));
+        }
+        candidate = fixtures.candidate(CANDIDATE_EMAIL);
+        List<JobApplication> applications = new ArrayList<>();
+        for (Job job : jobs) {
+            applications.add(fixtures.application(job, candidate));
+        }
+        //the first job also gets applications from other candidates, one per row of the recruiter's page
+        for (int i = 1; i < APPLICATIONS; i++) {
+            applications.add(fixtures.application(jobs.getFirst(), fixtures.candidate("candidate" + i + "@techhatch.test")));
+        }
+        applicationRepo.saveAll(applications);
+    }
+
+    @Test
+    void candidatePageLoadsJobsAndCompaniesWithTheRows() {
+        Page<JobApplicationResponse> page = measure(() -> applicationService.getMyJobApplications(CANDIDATE_EMAIL, null, 0),
+                //ids of the page, count, rows with job and company
+                PROFILE_LOOKUP + 3);
+
+        assertEquals(15, page.getContent().size());
+        assertEquals(APPLICATIONS, page.getTotalElements());
+        page.getContent().forEach(application -> assertEquals("Acme", application.getJob().getCompanyName()));
+    }
+
+    @Test
+    void candidateScrollLoadsJobsAndCompaniesWithTheRows() {
+        CursorPage<JobApplicationResponse> slice = measure(
+                () -> applicationService.scrollMyJobApplications(CANDIDATE_EMAIL, null, null, false),
+                //ids of the slice, rows with job and company
+                PROFILE_LOOKUP + 2);
+
+        assertEquals(15, slice.getContent().size());
+    }
+
+    @Test
+    void recruiterPageLoadsCandidatesAndUsersWithTheRows() {
+        Page<JobApplicationResponse> page = measure(
+                () -> applicationService.getJobApplications(RECRUITER_EMAIL, jobs.getFirst().getId(), null, 0),
+                //job ownership check, rows with candidate and user, count
+                PROFILE_LOOKUP + 3);
+
+        assertEquals(15, page.getContent().size());
+        assertEquals(APPLICATIONS, page.getTotalElements());
+        page.getContent().forEach(application -> assertTrue(application.getCandidate().getEmail().endsWith("@techhatch.test")));
+    }
+
+    @Test
+    void recruiterScrollLoadsCandidatesAndUsersWithTheRows() {
+        CursorPage<JobApplicationResponse> slice = measure(
+                () -> applicationService.scrollJobApplications(RECRUITER_EMAIL, jobs.getFirst().getId(), null, null, false),
+                //job ownership check, rows with candidate and user
+                PROFILE_LOOKUP + 2);
+
+        assertEquals(15, slice.getContent().size());
+    }
+
+    //HELPER METHODS
+
+    private <T> T measure(Supplier<T> listing, long expectedStatements) {
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        T result = listing.get();
+
+        assertEquals(expectedStatements, statistics.getPrepareStatementCount());
+        return result;
+    }
+}
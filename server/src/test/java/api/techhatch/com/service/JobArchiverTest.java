@@ -0,0 +1,112 @@
+package api.techhatch.com.service;
+
+import api.techhatch.com.dto.response.CursorPage;
+import api.techhatch.com.dto.response.JobApplicationResponse;
+import api.techhatch.com.dto.response.JobResponse;
+import api.techhatch.com.model.CandidateProfile;
+import api.techhatch.com.model.Job;
+import api.techhatch.com.model.RecruiterProfile;
+import api.techhatch.com.repository.JobApplicationRepo;
+import api.techhatch.com.repository.JobRepo;
+import api.techhatch.com.support.ApiTest;
+import api.techhatch.com.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recruiter reads keep working once a job is archived, and a job is only cold once its applications are cold too
+ */
+@ApiTest
+class JobArchiverTest {
+
+    private static final String RECRUITER_EMAIL = "recruiter@techhatch.test";
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private JobArchiver archiver;
+    @Autowired
+    private JobService jobService;
+    @Autowired
+    private JobApplicationService applicationService;
+    @Autowired
+    private JobRepo jobRepo;
+    @Autowired
+    private JobApplicationRepo applicationRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Job liveJob;
+    private Job coldJob;
+    private Job busyJob;
+
+    @BeforeEach
+    void createJobs() {
+        fixtures.clear();
+        RecruiterProfile recruiter = fixtures.recruiter(RECRUITER_EMAIL);
+        liveJob = fixtures.job(recruiter);
+        coldJob = fixtures.job(recruiter);
+        busyJob = fixtures.job(recruiter);
+        CandidateProfile first = fixtures.candidate("candidate1@techhatch.test");
+        CandidateProfile second = fixtures.candidate("candidate2@techhatch.test");
+        applicationRepo.saveAll(List.of(
+                fixtures.application(liveJob, first),
+                fixtures.application(coldJob, first),
+                fixtures.application(coldJob, second),
+                fixtures.application(busyJob, second)));
+
+        LocalDateTime longAgo = LocalDateTime.now().minusYears(1);
+        jdbcTemplate.update("UPDATE jobs SET status = 'CLOSED', updated_at = ? WHERE id IN (?, ?)",
+                longAgo, coldJob.getId(), busyJob.getId());
+        //the busy job's application is still being processed
+        jdbcTemplate.update("UPDATE applications SET applied_date = ?, last_updated = ? WHERE job_id <> ?",
+                longAgo, longAgo, liveJob.getId());
+        jdbcTemplate.update("UPDATE applications SET last_updated = ? WHERE job_id = ?",
+                LocalDateTime.now(), busyJob.getId());
+    }
+
+    @Test
+    void archivesOnlyJobsWithColdApplications() {
+        assertEquals(1, archiver.archiveColdJobs());
+
+        assertTrue(jobRepo.findById(coldJob.getId()).isEmpty());
+        assertTrue(jobRepo.findById(busyJob.getId()).isPresent());
+    }
+
+    @Test
+    void recruiterStillListsArchivedJobs() {
+        archiver.archiveColdJobs();
+
+        Page<JobResponse> page = jobService.getMyJobs(RECRUITER_EMAIL, 0);
+        assertEquals(List.of(busyJob.getId(), coldJob.getId(), liveJob.getId()),
+                page.getContent().stream().map(JobResponse::getId).toList());
+        assertEquals(3, page.getTotalElements());
+
+        CursorPage<JobResponse> slice = jobService.scrollMyJobs(RECRUITER_EMAIL, null, true);
+        assertEquals(3, slice.getContent().size());
+        assertEquals(3, slice.getTotalElements());
+    }
+
+    @Test
+    void recruiterStillListsApplicationsOfArchivedJobs() {
+        archiver.archiveColdJobs();
+
+        Page<JobApplicationResponse> page = applicationService.getJobApplications(RECRUITER_EMAIL, coldJob.getId(), null, 0);
+        assertEquals(2, page.getContent().size());
+        assertEquals(2, page.getTotalElements());
+        page.getContent().forEach(application -> assertTrue(application.getCandidate().getEmail().endsWith("@techhatch.test")));
+
+        CursorPage<JobApplicationResponse> slice = applicationService.scrollJobApplications(RECRUITER_EMAIL, coldJob.getId(), null, null, true);
+        assertEquals(2, slice.getContent().size());
+        assertEquals(2, slice.getTotalElements());
+    }
+}
@@ -0,0 +1,35 @@
+package api.techhatch.com.support;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Whole application over MockMvc on an embedded H2 database, with {@link TestFixtures}.
+ * Scheduled jobs and startup backfills are off so they cannot touch the fixture rows, query stats headers are on.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = {
+        "CLIENT.URL=http://localhost:5173",
+        "jwt.secret=dGVjaGhhdGNoLXF1ZXJ5LWJ1ZGdldC10ZXN0LXNlY3JldC1rZXktMjU2",
+        "spring.mail.username=test",
+        "spring.mail.password=test",
+        "spring.task.scheduling.enabled=false",
+        "skills.backfill.enabled=false",
+        "geo.backfill.enabled=false",
+        "query-stats.headers=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Import(TestFixtures.class)
+@Sql("/h2-json-columns.sql")
+public @interface ApiTest {
+}
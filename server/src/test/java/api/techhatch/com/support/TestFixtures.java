@@ -0,0 +1,131 @@
+package api.techhatch.com.support;
+
+import api.techhatch.com.model.CandidateProfile;
+import api.techhatch.com.model.Job;
+import api.techhatch.com.model.JobApplication;
+import api.techhatch.com.model.RecruiterProfile;
+import api.techhatch.com.model.Users;
+import api.techhatch.com.repository.ArchivedJobApplicationRepo;
+import api.techhatch.com.repository.ArchivedJobRepo;
+import api.techhatch.com.repository.CandidateProfileRepo;
+import api.techhatch.com.repository.JobApplicationRepo;
+import api.techhatch.com.repository.JobRepo;
+import api.techhatch.com.repository.RecruiterProfileRepo;
+import api.techhatch.com.repository.UserRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Users, profiles, jobs and applications for repository and API tests.
+ * Import it next to the h2-json-columns.sql script, tests run outside a transaction and start from {@link #clear()}.
+ */
+@TestComponent
+@RequiredArgsConstructor
+public class TestFixtures {
+
+    private final UserRepo userRepo;
+    private final CandidateProfileRepo candidateRepo;
+    private final RecruiterProfileRepo recruiterRepo;
+    private final JobRepo jobRepo;
+    private final JobApplicationRepo applicationRepo;
+    private final ArchivedJobRepo archivedJobRepo;
+    private final ArchivedJobApplicationRepo archivedApplicationRepo;
+
+    /**
+     * Deletes every row the fixtures create, children first
+     */
+    public void clear() {
+        archivedApplicationRepo.deleteAllInBatch();
+        archivedJobRepo.deleteAllInBatch();
+        applicationRepo.deleteAllInBatch();
+        jobRepo.deleteAllInBatch();
+        candidateRepo.deleteAllInBatch();
+        recruiterRepo.deleteAllInBatch();
+        userRepo.deleteAllInBatch();
+    }
+
+    public RecruiterProfile recruiter(String email) {
+        return recruiterRepo.save(RecruiterProfile.builder()
+                .user(userRepo.save(user(email, Users.Role.RECRUITER)))
+                .companyName("Acme")
+                .companyDescription("Hiring")
+                .companySize("1-10")
+                .industry("Software")
+                .build());
+    }
+
+    /**
+     * @return saved active job of the recruiter
+     */
+    public Job job(RecruiterProfile recruiter) {
+        return jobRepo.save(Job.builder()
+                .recruiterProfile(recruiter)
+                .title("Backend Engineer")
+                .description("Hot job")
+                .jobType(Job.JobType.FULL_TIME)
+                .experienceLevel(Job.ExperienceLevel.MID)
+                .currency("INR")
+                .jobStatus(Job.JobStatus.ACTIVE)
+                .requiredSkills(List.of("Java"))
+                .build());
+    }
+
+    public CandidateProfile candidate(String email) {
+        return candidateRepo.save(candidateOf(userRepo.save(user(email, Users.Role.CANDIDATE))));
+    }
+
+    /**
+     * Saves candidate0..candidate{count-1}@techhatch.test in two batches
+     * @return emails of the candidates
+     */
+    public List<String> candidates(int count) {
+        List<Users> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user("candidate" + i + "@techhatch.test", Users.Role.CANDIDATE));
+        }
+        List<CandidateProfile> profiles = new ArrayList<>(count);
+        for (Users user : userRepo.saveAll(users)) {
+            profiles.add(candidateOf(user));
+        }
+        candidateRepo.saveAll(profiles);
+        return users.stream().map(Users::getEmail).toList();
+    }
+
+    /**
+     * @return unsaved application, save them in one batch
+     */
+    public JobApplication application(Job job, CandidateProfile candidate) {
+        return JobApplication.builder()
+                .job(job)
+                .candidateProfile(candidate)
+                .status(JobApplication.Status.APPLIED)
+                .build();
+    }
+
+    /**
+     * @return unsaved verified and active user, able to log in
+     */
+    public Users user(String email, Users.Role role) {
+        Users user = new Users();
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setRole(role);
+        user.setEmailVerified(true);
+        user.setAccountStatus(Users.AccountStatus.ACTIVE);
+        return user;
+    }
+
+    //HELPER METHODS
+
+    private static CandidateProfile candidateOf(Users user) {
+        return CandidateProfile.builder()
+                .user(user)
+                .fullName("Candidate")
+                .experienceYears(3)
+                .skills(List.of("Java"))
+                .build();
+    }
+}
@@ -0,0 +1,3 @@
+-- H2 stores strings bound to a JSON column as JSON string literals, MySQL parses them.
+-- The converted skill lists are plain text for H2, as they are for the MySQL driver.
+ALTER TABLE candidate_profiles ALTER COLUMN skills VARCHAR(2000);